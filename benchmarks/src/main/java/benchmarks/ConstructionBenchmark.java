@@ -0,0 +1,34 @@
+package benchmarks;
+
+import functions.TabulatedFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Создание функции конструктором (leftX, rightX, values)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ConstructionBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int pointsCount;
+
+    @Param({"array", "list"})
+    public String implementation;
+
+    private double[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = Implementations.values(pointsCount);
+    }
+
+    @Benchmark
+    public TabulatedFunction construct() {
+        return Implementations.create(implementation, 0, pointsCount - 1, values);
+    }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import functions.InappropriateFunctionPointException;
+import functions.TabulatedFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Вычисление значения функции для случайных, возрастающих и граничных аргументов
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class EvaluationBenchmark {
+
+    private static final int ARGUMENTS = 4096;
+    private static final int MASK = ARGUMENTS - 1;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int pointsCount;
+
+    @Param({"array", "array-slopes", "uniform", "list"})
+    public String implementation;
+
+    // irregular - сетка с одной сдвинутой точкой, без быстрого пути равномерной сетки
+    @Param({"uniform", "irregular"})
+    public String grid;
+
+    private TabulatedFunction function;
+    private double[] random;
+    private double[] sorted;
+    private double[] boundary;
+    private double[] batch;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InappropriateFunctionPointException {
+        function = Implementations.create(implementation, pointsCount);
+        if (grid.equals("irregular")) {
+            function.setPointX(1, 0.5);
+        }
+
+        double left = function.getLeftDomainBorder();
+        double right = function.getRightDomainBorder();
+        Random rnd = new Random(42);
+
+        random = new double[ARGUMENTS];
+        sorted = new double[ARGUMENTS];
+        boundary = new double[ARGUMENTS];
+        for (int i = 0; i < ARGUMENTS; i++) {
+            random[i] = left + (right - left) * rnd.nextDouble();
+            sorted[i] = left + (right - left) * i / ARGUMENTS;
+        }
+        // Границы области, значения за ее пределами и точные узлы сетки
+        for (int i = 0; i < ARGUMENTS; i += 4) {
+            boundary[i] = left;
+            boundary[i + 1] = right;
+            boundary[i + 2] = (i & 8) == 0 ? left - 1 : right + 1;
+            boundary[i + 3] = function.getPointX(rnd.nextInt(pointsCount));
+        }
+        batch = new double[ARGUMENTS];
+    }
+
+    @Benchmark
+    public double randomX() {
+        return function.getFunctionValue(random[cursor++ & MASK]);
+    }
+
+    @Benchmark
+    public double sortedX() {
+        return function.getFunctionValue(sorted[cursor++ & MASK]);
+    }
+
+    @Benchmark
+    public double boundaryX() {
+        return function.getFunctionValue(boundary[cursor++ & MASK]);
+    }
+
+    // Пакетное вычисление возрастающей последовательности аргументов
+    @Benchmark
+    @OperationsPerInvocation(ARGUMENTS)
+    public double[] sortedBatch() {
+        function.getFunctionValues(sorted, batch);
+        return batch;
+    }
+}
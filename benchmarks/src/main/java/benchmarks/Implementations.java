@@ -0,0 +1,60 @@
+package benchmarks;
+
+import functions.*;
+
+// Создание измеряемых реализаций по имени из параметра implementation
+final class Implementations {
+
+    private Implementations() {
+    }
+
+    static TabulatedFunction create(String name, double leftX, double rightX, double[] values) {
+        switch (name) {
+            case "array":
+                return new ArrayTabulatedFunction(leftX, rightX, values);
+            case "array-slopes": {
+                ArrayTabulatedFunction function = new ArrayTabulatedFunction(leftX, rightX, values);
+                function.setSlopeCacheEnabled(true);
+                return function;
+            }
+            case "gapbuffer":
+                return new GapBufferTabulatedFunction(leftX, rightX, values);
+            case "uniform":
+                return new UniformTabulatedFunction(leftX, rightX, values);
+            case "list":
+                return new LinkedListTabulatedFunction(leftX, rightX, values);
+            case "list-slopes": {
+                LinkedListTabulatedFunction function = new LinkedListTabulatedFunction(leftX, rightX, values);
+                function.setSlopeCacheEnabled(true);
+                return function;
+            }
+            case "unrolled":
+                return new UnrolledLinkedListTabulatedFunction(leftX, rightX, values);
+            case "bplustree":
+                return new BPlusTreeTabulatedFunction(leftX, rightX, values);
+            case "skiplist":
+                return new SkipListTabulatedFunction(leftX, rightX, values);
+            case "offheap":
+                return new OffHeapTabulatedFunction(leftX, rightX, values);
+            case "concurrent":
+                return new ConcurrentTabulatedFunction(leftX, rightX, values);
+            case "cow":
+                return new CopyOnWriteTabulatedFunction(leftX, rightX, values);
+            default:
+                throw new IllegalArgumentException("Неизвестная реализация: " + name);
+        }
+    }
+
+    // Функция y = sin(x) на сетке [0, pointsCount - 1] с шагом 1
+    static TabulatedFunction create(String name, int pointsCount) {
+        return create(name, 0, pointsCount - 1, values(pointsCount));
+    }
+
+    static double[] values(int pointsCount) {
+        double[] values = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            values[i] = Math.sin(i);
+        }
+        return values;
+    }
+}
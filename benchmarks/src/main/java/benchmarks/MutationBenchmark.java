@@ -0,0 +1,67 @@
+package benchmarks;
+
+import functions.FunctionPoint;
+import functions.InappropriateFunctionPointException;
+import functions.TabulatedFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Добавление и удаление точек в начале, середине и конце набора.
+// Каждая операция добавляет точку и удаляет ее же, поэтому размер функции
+// между вызовами не меняется и результат включает стоимость deletePoint
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class MutationBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int pointsCount;
+
+    @Param({"array", "gapbuffer", "list", "unrolled", "bplustree"})
+    public String implementation;
+
+    private TabulatedFunction function;
+    private FunctionPoint head;
+    private FunctionPoint middle;
+    private FunctionPoint tail;
+    private int middleIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        function = Implementations.create(implementation, pointsCount);
+        middleIndex = pointsCount / 2;
+        head = new FunctionPoint(function.getLeftDomainBorder() - 1, 0);
+        middle = new FunctionPoint(function.getPointX(middleIndex) - 0.5, 0);
+        tail = new FunctionPoint(function.getRightDomainBorder() + 1, 0);
+    }
+
+    @Benchmark
+    public void addPointHead() throws InappropriateFunctionPointException {
+        function.addPoint(head);
+        function.deletePoint(0);
+    }
+
+    @Benchmark
+    public void addPointMiddle() throws InappropriateFunctionPointException {
+        function.addPoint(middle);
+        function.deletePoint(middleIndex);
+    }
+
+    @Benchmark
+    public void addPointTail() throws InappropriateFunctionPointException {
+        function.addPoint(tail);
+        function.deletePoint(pointsCount);
+    }
+
+    // Удаление средней точки с последующим возвратом на место
+    @Benchmark
+    public void deletePointMiddle() throws InappropriateFunctionPointException {
+        FunctionPoint point = function.getPoint(middleIndex);
+        function.deletePoint(middleIndex);
+        function.addPoint(point);
+    }
+}
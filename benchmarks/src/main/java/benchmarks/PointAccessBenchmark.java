@@ -0,0 +1,60 @@
+package benchmarks;
+
+import functions.FunctionPoint;
+import functions.TabulatedFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Доступ к точкам по номеру: произвольный и последовательный
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class PointAccessBenchmark {
+
+    private static final int INDICES = 4096;
+    private static final int MASK = INDICES - 1;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int pointsCount;
+
+    @Param({"array", "list", "unrolled", "bplustree"})
+    public String implementation;
+
+    private TabulatedFunction function;
+    private int[] indices;
+    private int cursor;
+    private int sequential;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        function = Implementations.create(implementation, pointsCount);
+        Random rnd = new Random(42);
+        indices = new int[INDICES];
+        for (int i = 0; i < INDICES; i++) {
+            indices[i] = rnd.nextInt(pointsCount);
+        }
+    }
+
+    @Benchmark
+    public FunctionPoint getPointRandom() {
+        return function.getPoint(indices[cursor++ & MASK]);
+    }
+
+    @Benchmark
+    public double getPointYRandom() {
+        return function.getPointY(indices[cursor++ & MASK]);
+    }
+
+    @Benchmark
+    public double getPointYSequential() {
+        if (++sequential == pointsCount) {
+            sequential = 0;
+        }
+        return function.getPointY(sequential);
+    }
+}
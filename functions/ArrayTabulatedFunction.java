@@ -1,9 +1,41 @@
 package functions;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleUnaryOperator;
+
 public class ArrayTabulatedFunction implements TabulatedFunction {
-    private FunctionPoint[] points;
+    // Координаты точек хранятся в двух параллельных массивах примитивов,
+    // объекты FunctionPoint создаются только на границе API
+    private double[] xs;
+    private double[] ys;
     private int pointsCount;
 
+    // Параметры равномерной сетки: пока сетка равномерная, номер отрезка вычисляется напрямую
+    private boolean uniform;
+    private double gridLeftX;
+    private double gridStep;
+
+    // Вычислитель с запоминанием последнего отрезка. Номер отрезка остается допустимым
+    // после любых изменений (он приводится к текущему числу точек), а поиск от него
+    // идет по текущим массивам, поэтому счетчик изменений не нужен
+    private class ArrayEvaluator implements Evaluator {
+        private int hint;
+
+        @Override
+        public double evaluate(double x) {
+            if (x < xs[0] || x > xs[pointsCount - 1]) {
+                return Double.NaN;
+            }
+            hint = uniform ? findSegment(x) : findSegment(x, Math.min(hint, pointsCount - 2));
+            return interpolate(hint, x);
+        }
+    }
+
+    // Кэш наклонов отрезков: slopes[i] - наклон отрезка [x_i, x_(i+1)], null - кэш выключен.
+    // Изменение точки пересчитывает только наклоны соседних с ней отрезков
+    private double[] slopes;
+
     // Конструкторы
     public ArrayTabulatedFunction(double leftX, double rightX, int pointsCount) {
         if (leftX >= rightX) {
@@ -14,30 +46,141 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         }
 
         this.pointsCount = pointsCount;
-        points = new FunctionPoint[pointsCount + 10];
+        xs = new double[pointsCount + 10];
+        ys = new double[pointsCount + 10];
         double step = (rightX - leftX) / (pointsCount - 1);
 
         for (int i = 0; i < pointsCount; i++) {
-            points[i] = new FunctionPoint(leftX + i * step, 0);
+            xs[i] = leftX + i * step;
         }
+
+        uniform = true;
+        gridLeftX = leftX;
+        gridStep = step;
     }
 
     public ArrayTabulatedFunction(double leftX, double rightX, double[] values) {
         this(leftX, rightX, values.length);
-        for (int i = 0; i < values.length; i++) {
-            points[i].setY(values[i]);
+        System.arraycopy(values, 0, ys, 0, values.length);
+    }
+
+    // Табулирование функции на равномерной сетке. Значения вычисляются параллельно
+    // и записываются прямо в массив Y; участки не длиннее threshold точек
+    // вычисляются последовательно
+    public static ArrayTabulatedFunction tabulate(DoubleUnaryOperator function,
+                                                  double leftX, double rightX, int pointsCount) {
+        return tabulate(function, leftX, rightX, pointsCount, Tabulation.DEFAULT_THRESHOLD);
+    }
+
+    public static ArrayTabulatedFunction tabulate(DoubleUnaryOperator function,
+                                                  double leftX, double rightX, int pointsCount, int threshold) {
+        Tabulation.checkThreshold(threshold);
+        ArrayTabulatedFunction result = new ArrayTabulatedFunction(leftX, rightX, pointsCount);
+        Tabulation.run(new Tabulation.FillTask(function, result.xs, result.ys, 0, pointsCount, threshold),
+                pointsCount, threshold);
+        return result;
+    }
+
+    // Копия другой функции (массивы копируются с запасом под добавление точек)
+    ArrayTabulatedFunction(ArrayTabulatedFunction function) {
+        pointsCount = function.pointsCount;
+        xs = new double[pointsCount + 10];
+        ys = new double[pointsCount + 10];
+        System.arraycopy(function.xs, 0, xs, 0, pointsCount);
+        System.arraycopy(function.ys, 0, ys, 0, pointsCount);
+        uniform = function.uniform;
+        gridLeftX = function.gridLeftX;
+        gridStep = function.gridStep;
+        if (function.slopes != null) {
+            slopes = new double[xs.length];
+            System.arraycopy(function.slopes, 0, slopes, 0, pointsCount - 1);
+        }
+    }
+
+    // Создание по готовым массивам координат (X строго возрастают), массивы не копируются
+    ArrayTabulatedFunction(double[] xs, double[] ys, int pointsCount) {
+        this.xs = xs;
+        this.ys = ys;
+        this.pointsCount = pointsCount;
+        detectUniformGrid();
+    }
+
+    // Сетка считается равномерной, если X отличаются от узлов равномерной сетки
+    // не более чем на ошибку округления (ее исправляет поиск отрезка)
+    private void detectUniformGrid() {
+        double leftX = xs[0];
+        double step = (xs[pointsCount - 1] - leftX) / (pointsCount - 1);
+        double tolerance = step * 1e-9;
+
+        uniform = false;
+        for (int i = 0; i < pointsCount; i++) {
+            if (Math.abs(xs[i] - (leftX + i * step)) > tolerance) {
+                return;
+            }
+        }
+        uniform = true;
+        gridLeftX = leftX;
+        gridStep = step;
+    }
+
+    // Включение и выключение кэша наклонов. С кэшем интерполяция не выполняет
+    // деления, зато каждое изменение точек дополнительно пересчитывает наклоны
+    public void setSlopeCacheEnabled(boolean enabled) {
+        if (!enabled) {
+            slopes = null;
+        } else if (slopes == null) {
+            slopes = new double[xs.length];
+            updateSlopes(0, pointsCount - 1);
         }
     }
 
+    public boolean isSlopeCacheEnabled() {
+        return slopes != null;
+    }
+
+    // Шаг равномерной сетки, по которой построены X, NaN - сетка неравномерная
+    double gridStep() {
+        return uniform ? gridStep : Double.NaN;
+    }
+
+    // Пересчет наклонов отрезков с номерами [from, to), границы приводятся к существующим отрезкам
+    private void updateSlopes(int from, int to) {
+        if (slopes == null) {
+            return;
+        }
+        from = Math.max(from, 0);
+        to = Math.min(to, pointsCount - 1);
+        for (int i = from; i < to; i++) {
+            slopes[i] = (ys[i + 1] - ys[i]) / (xs[i + 1] - xs[i]);
+        }
+    }
+
+    // Сдвиг наклонов отрезков [from, segmentsCount) на shift позиций вслед за точками;
+    // при увеличении массивов точек массив наклонов увеличивается вместе с ними
+    private void shiftSlopes(int from, int segmentsCount, int shift) {
+        if (slopes == null) {
+            return;
+        }
+        double[] target = slopes;
+        if (slopes.length < xs.length) {
+            target = new double[xs.length];
+            System.arraycopy(slopes, 0, target, 0, Math.min(from, segmentsCount));
+        }
+        if (from < segmentsCount) {
+            System.arraycopy(slopes, from, target, from + shift, segmentsCount - from);
+        }
+        slopes = target;
+    }
+
     // Реализация методов интерфейса
     @Override
     public double getLeftDomainBorder() {
-        return points[0].getX();
+        return xs[0];
     }
 
     @Override
     public double getRightDomainBorder() {
-        return points[pointsCount - 1].getX();
+        return xs[pointsCount - 1];
     }
 
     @Override
@@ -46,24 +189,128 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
             return Double.NaN;
         }
 
+        return interpolate(findSegment(x), x);
+    }
+
+    @Override
+    public void getFunctionValues(double[] arguments, int argumentsOffset,
+                                  double[] values, int valuesOffset, int length) {
+        TabulatedFunction.checkBatchRange(arguments, argumentsOffset, values, valuesOffset, length);
+
+        double leftBorder = xs[0];
+        double rightBorder = xs[pointsCount - 1];
+        int last = pointsCount - 2;
+        int segment = -1;
+        double previous = Double.NaN;
+
+        for (int k = 0; k < length; k++) {
+            double x = arguments[argumentsOffset + k];
+            if (x < leftBorder || x > rightBorder) {
+                values[valuesOffset + k] = Double.NaN;
+                continue;
+            }
+
+            // Для возрастающей последовательности аргументов отрезок ищется
+            // продвижением от предыдущего (слияние за O(n + m)), иначе - заново
+            if (segment >= 0 && x >= previous && !uniform) {
+                while (segment < last && x > xs[segment + 1]) segment++;
+            } else {
+                segment = findSegment(x);
+            }
+            previous = x;
+
+            values[valuesOffset + k] = interpolate(segment, x);
+        }
+    }
+
+    // Значение на отрезке [x_i, x_(i+1)]
+    private double interpolate(int i, double x) {
+        double leftX = xs[i];
+        double rightX = xs[i + 1];
+
         // Сравнение с машинным эпсилоном
         final double eps = 1e-10;
-        for (int i = 0; i < pointsCount; i++) {
-            if (Math.abs(points[i].getX() - x) <= eps) {
-                return points[i].getY();
+        if (Math.abs(leftX - x) <= eps) return ys[i];
+        if (Math.abs(rightX - x) <= eps) return ys[i + 1];
+
+        // Линейная интерполяция
+        if (slopes != null) {
+            return ys[i] + slopes[i] * (x - leftX);
+        }
+        return ys[i] + (ys[i + 1] - ys[i]) * (x - leftX) / (rightX - leftX);
+    }
+
+    // Поиск номера левой точки отрезка [x_i, x_(i+1)], содержащего x (x лежит в области определения)
+    private int findSegment(double x) {
+        int last = pointsCount - 2;
+
+        if (uniform) {
+            // Равномерная сетка: номер отрезка вычисляется за O(1)
+            int i = (int) ((x - gridLeftX) / gridStep);
+            if (i < 0) i = 0;
+            if (i > last) i = last;
+            // Поправка на ошибки округления
+            while (i > 0 && x < xs[i]) i--;
+            while (i < last && x > xs[i + 1]) i++;
+            return i;
+        }
+
+        // Бинарный поиск последней точки с X <= x
+        int low = 0;
+        int high = pointsCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xs[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return Math.min(low, last);
+    }
+
+    // Галопирующий поиск отрезка от отрезка start: шаги от него удваиваются,
+    // пока x не окажется внутри пройденного участка, затем бинарный поиск
+    private int findSegment(double x, int start) {
+        int last = pointsCount - 2;
+        int low;
+        int high;
+        if (xs[start] <= x) {
+            low = start;
+            high = last + 1;
+            for (int step = 1; low + step <= last; step <<= 1) {
+                if (xs[low + step] > x) {
+                    high = low + step;
+                    break;
+                }
+                low += step;
+            }
+        } else {
+            high = start;
+            low = 0;
+            for (int step = 1; high - step > 0; step <<= 1) {
+                if (xs[high - step] <= x) {
+                    low = high - step;
+                    break;
+                }
+                high -= step;
             }
         }
-        // Поиск интервала
-        int i = 0;
-        while (i < pointsCount && points[i].getX() < x) i++;
 
-        if (i == 0) return points[0].getY();
-        if (i == pointsCount) return points[pointsCount - 1].getY();
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (xs[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
 
-        // Линейная интерполяция
-        FunctionPoint left = points[i - 1];
-        FunctionPoint right = points[i];
-        return left.getY() + (right.getY() - left.getY()) * (x - left.getX()) / (right.getX() - left.getX());
+    @Override
+    public Evaluator evaluator() {
+        return new ArrayEvaluator();
     }
 
     @Override
@@ -78,7 +325,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
                     "Индекс " + index + " вне границ [0, " + (pointsCount-1) + "]"
             );
         }
-        return new FunctionPoint(points[index]);
+        return new FunctionPoint(xs[index], ys[index]);
     }
 
     @Override
@@ -89,12 +336,17 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
             throw new FunctionPointIndexOutOfBoundsException();
         }
 
-        if ((index > 0 && point.getX() <= points[index - 1].getX()) ||
-                (index < pointsCount - 1 && point.getX() >= points[index + 1].getX())) {
+        if ((index > 0 && point.getX() <= xs[index - 1]) ||
+                (index < pointsCount - 1 && point.getX() >= xs[index + 1])) {
             throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
         }
 
-        points[index] = new FunctionPoint(point);
+        if (point.getX() != xs[index]) {
+            uniform = false;
+        }
+        xs[index] = point.getX();
+        ys[index] = point.getY();
+        updateSlopes(index - 1, index + 1);
     }
 
     @Override
@@ -102,7 +354,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         if (index < 0 || index >= pointsCount) {
             throw new FunctionPointIndexOutOfBoundsException();
         }
-        return points[index].getX();
+        return xs[index];
     }
 
     @Override
@@ -113,12 +365,14 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
             throw new FunctionPointIndexOutOfBoundsException();
         }
 
-        if ((index > 0 && x <= points[index - 1].getX()) ||
-                (index < pointsCount - 1 && x >= points[index + 1].getX())) {
+        if ((index > 0 && x <= xs[index - 1]) ||
+                (index < pointsCount - 1 && x >= xs[index + 1])) {
             throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
         }
 
-        points[index].setX(x);
+        xs[index] = x;
+        uniform = false;
+        updateSlopes(index - 1, index + 1);
     }
 
     @Override
@@ -126,7 +380,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         if (index < 0 || index >= pointsCount) {
             throw new FunctionPointIndexOutOfBoundsException();
         }
-        return points[index].getY();
+        return ys[index];
     }
 
     @Override
@@ -134,7 +388,8 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         if (index < 0 || index >= pointsCount) {
             throw new FunctionPointIndexOutOfBoundsException();
         }
-        points[index].setY(y);
+        ys[index] = y;
+        updateSlopes(index - 1, index + 1);
     }
 
     @Override
@@ -147,32 +402,180 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
             throw new FunctionPointIndexOutOfBoundsException();
         }
 
-        System.arraycopy(points, index + 1, points, index, pointsCount - index - 1);
+        System.arraycopy(xs, index + 1, xs, index, pointsCount - index - 1);
+        System.arraycopy(ys, index + 1, ys, index, pointsCount - index - 1);
+        shiftSlopes(index + 1, pointsCount - 1, -1);
         pointsCount--;
+        uniform = false;
+        updateSlopes(index - 1, index);
     }
 
     @Override
     public void addPoint(FunctionPoint point)
             throws InappropriateFunctionPointException {
 
+        double x = point.getX();
         for (int i = 0; i < pointsCount; i++) {
-            if (Math.abs(points[i].getX() - point.getX()) < 1e-10) {
+            if (Math.abs(xs[i] - x) < 1e-10) {
                 throw new InappropriateFunctionPointException("Точка с таким X уже существует");
             }
         }
 
         int i = 0;
-        while (i < pointsCount && points[i].getX() < point.getX()) i++;
-
-        if (pointsCount == points.length) {
-            FunctionPoint[] newPoints = new FunctionPoint[points.length * 2];
-            System.arraycopy(points, 0, newPoints, 0, pointsCount);
-            points = newPoints;
+        while (i < pointsCount && xs[i] < x) i++;
+
+        if (pointsCount == xs.length) {
+            double[] newXs = new double[xs.length * 2];
+            double[] newYs = new double[ys.length * 2];
+            System.arraycopy(xs, 0, newXs, 0, pointsCount);
+            System.arraycopy(ys, 0, newYs, 0, pointsCount);
+            xs = newXs;
+            ys = newYs;
         }
 
-        System.arraycopy(points, i, points, i + 1, pointsCount - i);
-        points[i] = new FunctionPoint(point);
+        System.arraycopy(xs, i, xs, i + 1, pointsCount - i);
+        System.arraycopy(ys, i, ys, i + 1, pointsCount - i);
+        xs[i] = x;
+        ys[i] = point.getY();
+        shiftSlopes(i, pointsCount - 1, 1);
         pointsCount++;
+        uniform = false;
+        updateSlopes(i - 1, i + 1);
+    }
+
+    // Слияние упорядоченного набора с точками функции за один проход O(n + m),
+    // массивы увеличиваются не более одного раза
+    @Override
+    public void addPoints(double[] pointsX, double[] pointsY)
+            throws InappropriateFunctionPointException {
+
+        double[][] batch = PointArrays.copyOf(pointsX, pointsY);
+        double[] batchX = batch[0];
+        double[] batchY = batch[1];
+        PointArrays.sortByX(batchX, batchY);
+        PointArrays.checkDistinct(batchX);
+        PointArrays.checkDistinct(this, batchX);
+
+        int m = batchX.length;
+        if (m == 0) {
+            return;
+        }
+
+        int total = pointsCount + m;
+        double[] targetX = xs;
+        double[] targetY = ys;
+        if (total > xs.length) {
+            targetX = new double[Math.max(xs.length * 2, total)];
+            targetY = new double[targetX.length];
+        }
+
+        // Слияние с конца, чтобы его можно было выполнять на месте
+        int i = pointsCount - 1;
+        int j = m - 1;
+        int k = total - 1;
+        while (j >= 0) {
+            if (i >= 0 && xs[i] > batchX[j]) {
+                targetX[k] = xs[i];
+                targetY[k] = ys[i];
+                i--;
+            } else {
+                targetX[k] = batchX[j];
+                targetY[k] = batchY[j];
+                j--;
+            }
+            k--;
+        }
+        if (targetX != xs) {
+            System.arraycopy(xs, 0, targetX, 0, i + 1);
+            System.arraycopy(ys, 0, targetY, 0, i + 1);
+        }
+
+        xs = targetX;
+        ys = targetY;
+        pointsCount = total;
+        uniform = false;
+
+        // Новые точки могут оказаться в любых отрезках, наклоны пересчитываются целиком
+        if (slopes != null) {
+            if (slopes.length < xs.length) {
+                slopes = new double[xs.length];
+            }
+            updateSlopes(0, pointsCount - 1);
+        }
+    }
+
+    @Override
+    public void forEachPoint(PointVisitor visitor) {
+        for (int i = 0; i < pointsCount; i++) {
+            visitor.visit(i, xs[i], ys[i]);
+        }
+    }
+
+    // Разделители по массивам координат, разбиение за O(1)
+    @Override
+    public Spliterator.OfDouble xSpliterator() {
+        return Spliterators.spliterator(xs, 0, pointsCount, IndexPointSpliterators.X_CHARACTERISTICS);
+    }
+
+    @Override
+    public Spliterator.OfDouble ySpliterator() {
+        return Spliterators.spliterator(ys, 0, pointsCount, IndexPointSpliterators.Y_CHARACTERISTICS);
+    }
+
+    // Удаление диапазона одним сдвигом хвоста массива
+    @Override
+    public void deletePoints(int fromIndex, int toIndex) {
+        PointArrays.checkRange(fromIndex, toIndex, pointsCount);
+        int removed = toIndex - fromIndex;
+        PointArrays.checkRemaining(pointsCount - removed);
+        if (removed == 0) {
+            return;
+        }
+
+        System.arraycopy(xs, toIndex, xs, fromIndex, pointsCount - toIndex);
+        System.arraycopy(ys, toIndex, ys, fromIndex, pointsCount - toIndex);
+        shiftSlopes(toIndex, pointsCount - 1, -removed);
+        pointsCount -= removed;
+        uniform = false;
+        updateSlopes(fromIndex - 1, fromIndex);
+    }
+
+    // Замена диапазона: хвост массива сдвигается не более одного раза
+    @Override
+    public void replaceRange(int fromIndex, int toIndex, double[] pointsX, double[] pointsY)
+            throws InappropriateFunctionPointException {
+
+        PointArrays.checkRange(fromIndex, toIndex, pointsCount);
+        double[][] batch = PointArrays.copyOf(pointsX, pointsY);
+        double[] batchX = batch[0];
+        double[] batchY = batch[1];
+        PointArrays.sortByX(batchX, batchY);
+        PointArrays.checkReplacement(this, fromIndex, toIndex, batchX);
+
+        int m = batchX.length;
+        int total = pointsCount - (toIndex - fromIndex) + m;
+        PointArrays.checkRemaining(total);
+
+        int tail = pointsCount - toIndex;
+        if (total > xs.length) {
+            double[] newXs = new double[Math.max(xs.length * 2, total)];
+            double[] newYs = new double[newXs.length];
+            System.arraycopy(xs, 0, newXs, 0, fromIndex);
+            System.arraycopy(ys, 0, newYs, 0, fromIndex);
+            System.arraycopy(xs, toIndex, newXs, fromIndex + m, tail);
+            System.arraycopy(ys, toIndex, newYs, fromIndex + m, tail);
+            xs = newXs;
+            ys = newYs;
+        } else {
+            System.arraycopy(xs, toIndex, xs, fromIndex + m, tail);
+            System.arraycopy(ys, toIndex, ys, fromIndex + m, tail);
+        }
+        System.arraycopy(batchX, 0, xs, fromIndex, m);
+        System.arraycopy(batchY, 0, ys, fromIndex, m);
+        shiftSlopes(toIndex, pointsCount - 1, m - (toIndex - fromIndex));
+        pointsCount = total;
+        uniform = false;
+        updateSlopes(fromIndex - 1, fromIndex + m);
     }
 
     // Дополнительный метод для тестирования
@@ -180,7 +583,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         System.out.println("Массив точек (всего " + pointsCount + "):");
         for (int i = 0; i < pointsCount; i++) {
             System.out.printf("[%d]: [%.2f; %.2f]\n",
-                    i, points[i].getX(), points[i].getY());
+                    i, xs[i], ys[i]);
         }
     }
 }
\ No newline at end of file
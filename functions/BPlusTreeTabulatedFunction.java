@@ -0,0 +1,803 @@
+package functions;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+public class BPlusTreeTabulatedFunction implements TabulatedFunction {
+
+    // Вместимость листа (точек) и внутреннего узла (потомков). При построении узлы
+    // заполняются на 3/4; узел, заполненный после удаления меньше чем наполовину,
+    // объединяется с соседним или забирает у него часть элементов
+    private static final int LEAF_CAPACITY = 64;
+    private static final int INNER_CAPACITY = 32;
+    private static final int LEAF_FILL = LEAF_CAPACITY * 3 / 4;
+    private static final int INNER_FILL = INNER_CAPACITY * 3 / 4;
+
+    private abstract static class Node {
+        // Количество точек в поддереве
+        int size;
+
+        // Наименьший X поддерева
+        abstract double minX();
+
+        // Заполнение узла: точки листа или потомки внутреннего узла
+        abstract int width();
+
+        abstract int capacity();
+    }
+
+    // Лист: точки по возрастанию X в массивах примитивов, листья связаны в список
+    private static final class Leaf extends Node {
+        final double[] xs = new double[LEAF_CAPACITY];
+        final double[] ys = new double[LEAF_CAPACITY];
+        Leaf prev;
+        Leaf next;
+
+        @Override
+        double minX() {
+            return xs[0];
+        }
+
+        @Override
+        int width() {
+            return size;
+        }
+
+        @Override
+        int capacity() {
+            return LEAF_CAPACITY;
+        }
+    }
+
+    // Внутренний узел: keys[i] - наименьший X в поддереве children[i]
+    private static final class Inner extends Node {
+        final Node[] children = new Node[INNER_CAPACITY];
+        final double[] keys = new double[INNER_CAPACITY];
+        int count;
+
+        @Override
+        double minX() {
+            return keys[0];
+        }
+
+        @Override
+        int width() {
+            return count;
+        }
+
+        @Override
+        int capacity() {
+            return INNER_CAPACITY;
+        }
+    }
+
+    // Общая часть разделителей: точки с номерами [index, end), начиная с точки offset листа leaf.
+    // При разбиении начало второй половины находится спуском от корня
+    private abstract static class LeafRange {
+        final Node root;
+        Leaf leaf;
+        int offset;
+        int index;
+        final int end;
+
+        LeafRange(Node root, Leaf leaf, int offset, int index, int end) {
+            this.root = root;
+            this.leaf = leaf;
+            this.offset = offset;
+            this.index = index;
+            this.end = end;
+        }
+
+        // Переход к следующему листу, если текущий пройден
+        void normalize() {
+            while (offset == leaf.size) {
+                leaf = leaf.next;
+                offset = 0;
+            }
+        }
+
+        // Переход ко второй половине диапазона, возвращает номер ее начала или -1
+        int split() {
+            int middle = (index + end) >>> 1;
+            if (middle <= index) return -1;
+            Node node = root;
+            int rest = middle;
+            while (node instanceof Inner) {
+                Inner inner = (Inner) node;
+                int i = 0;
+                while (rest >= inner.children[i].size) {
+                    rest -= inner.children[i].size;
+                    i++;
+                }
+                node = inner.children[i];
+            }
+            leaf = (Leaf) node;
+            offset = rest;
+            index = middle;
+            return middle;
+        }
+
+        public long estimateSize() {
+            return end - index;
+        }
+    }
+
+    private static final class LeafPointSpliterator extends LeafRange implements Spliterator<FunctionPoint> {
+
+        LeafPointSpliterator(Node root, Leaf leaf, int offset, int index, int end) {
+            super(root, leaf, offset, index, end);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super FunctionPoint> action) {
+            if (index >= end) return false;
+            normalize();
+            action.accept(new FunctionPoint(leaf.xs[offset], leaf.ys[offset]));
+            offset++;
+            index++;
+            return true;
+        }
+
+        @Override
+        public Spliterator<FunctionPoint> trySplit() {
+            Leaf startLeaf = leaf;
+            int startOffset = offset;
+            int start = index;
+            int middle = split();
+            return (middle < 0) ? null : new LeafPointSpliterator(root, startLeaf, startOffset, start, middle);
+        }
+
+        @Override
+        public int characteristics() {
+            return IndexPointSpliterators.POINT_CHARACTERISTICS;
+        }
+    }
+
+    private static final class LeafValueSpliterator extends LeafRange implements Spliterator.OfDouble {
+        private final boolean x;
+
+        LeafValueSpliterator(Node root, Leaf leaf, int offset, int index, int end, boolean x) {
+            super(root, leaf, offset, index, end);
+            this.x = x;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= end) return false;
+            normalize();
+            action.accept(x ? leaf.xs[offset] : leaf.ys[offset]);
+            offset++;
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            while (index < end) {
+                normalize();
+                double[] values = x ? leaf.xs : leaf.ys;
+                int stop = Math.min(leaf.size, offset + end - index);
+                for (int i = offset; i < stop; i++) {
+                    action.accept(values[i]);
+                }
+                index += stop - offset;
+                offset = stop;
+            }
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            Leaf startLeaf = leaf;
+            int startOffset = offset;
+            int start = index;
+            int middle = split();
+            return (middle < 0) ? null : new LeafValueSpliterator(root, startLeaf, startOffset, start, middle, x);
+        }
+
+        @Override
+        public int characteristics() {
+            return x ? IndexPointSpliterators.X_CHARACTERISTICS : IndexPointSpliterators.Y_CHARACTERISTICS;
+        }
+
+        @Override
+        public Comparator<? super Double> getComparator() {
+            if (x) return null;
+            throw new IllegalStateException();
+        }
+    }
+
+    private Node root;
+    private Leaf firstLeaf;
+    private Leaf lastLeaf;
+
+    // Последний найденный по номеру лист и номер его первой точки
+    private Leaf cachedLeaf;
+    private int cachedStart;
+
+    // Конструкторы
+    public BPlusTreeTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не менее 2");
+        }
+
+        // Листья заполняются равномерно
+        double step = (rightX - leftX) / (pointsCount - 1);
+        int width = (pointsCount + LEAF_FILL - 1) / LEAF_FILL;
+        Node[] level = new Node[width];
+        int index = 0;
+        for (int k = 0; k < width; k++) {
+            Leaf leaf = new Leaf();
+            leaf.size = share(pointsCount, width, k);
+            for (int i = 0; i < leaf.size; i++) {
+                leaf.xs[i] = leftX + (index++) * step;
+            }
+            leaf.prev = lastLeaf;
+            if (lastLeaf == null) {
+                firstLeaf = leaf;
+            } else {
+                lastLeaf.next = leaf;
+            }
+            lastLeaf = leaf;
+            level[k] = leaf;
+        }
+
+        // Внутренние уровни строятся снизу вверх
+        while (width > 1) {
+            int parents = (width + INNER_FILL - 1) / INNER_FILL;
+            int child = 0;
+            for (int k = 0; k < parents; k++) {
+                Inner inner = new Inner();
+                int count = share(width, parents, k);
+                for (int i = 0; i < count; i++) {
+                    Node node = level[child++];
+                    inner.children[i] = node;
+                    inner.keys[i] = node.minX();
+                    inner.size += node.size;
+                }
+                inner.count = count;
+                level[k] = inner;
+            }
+            width = parents;
+        }
+        root = level[0];
+        resetCache();
+    }
+
+    public BPlusTreeTabulatedFunction(double leftX, double rightX, double[] values) {
+        this(leftX, rightX, values.length);
+
+        // Устанавливаем значения Y
+        int i = 0;
+        for (Leaf leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+            System.arraycopy(values, i, leaf.ys, 0, leaf.size);
+            i += leaf.size;
+        }
+    }
+
+    // Размер части k при равномерном делении total элементов на parts частей
+    private static int share(int total, int parts, int k) {
+        return total / parts + (k < total % parts ? 1 : 0);
+    }
+
+    private void resetCache() {
+        cachedLeaf = firstLeaf;
+        cachedStart = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= root.size) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Индекс " + index + " вне границ [0, " + (root.size - 1) + "]"
+            );
+        }
+    }
+
+    // Поиск листа с точкой номер index спуском по размерам поддеревьев,
+    // результат - cachedLeaf и cachedStart. Запомненный лист и следующий за ним
+    // проверяются без спуска, что ускоряет последовательный обход
+    private void locate(int index) {
+        checkIndex(index);
+
+        int end = cachedStart + cachedLeaf.size;
+        if (index >= cachedStart && index < end) return;
+        if (index >= end && cachedLeaf.next != null && index < end + cachedLeaf.next.size) {
+            cachedLeaf = cachedLeaf.next;
+            cachedStart = end;
+            return;
+        }
+
+        Node node = root;
+        int start = 0;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int i = 0;
+            while (index - start >= inner.children[i].size) {
+                start += inner.children[i].size;
+                i++;
+            }
+            node = inner.children[i];
+        }
+        cachedLeaf = (Leaf) node;
+        cachedStart = start;
+    }
+
+    // Номер последнего потомка, наименьший X которого не больше x (0, если таких нет)
+    private static int childByX(Inner inner, double x) {
+        int low = 1;
+        int high = inner.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (inner.keys[mid] <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    // Лист, в который попадает x при спуске по ключам
+    private Leaf leafByX(double x) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[childByX(inner, x)];
+        }
+        return (Leaf) node;
+    }
+
+    // Номер первой точки листа с X >= x (size, если таких нет)
+    private static int lowerBound(Leaf leaf, double x) {
+        int low = 0;
+        int high = leaf.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (leaf.xs[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // X соседних точек (бесконечность, если соседа нет)
+    private static double previousX(Leaf leaf, int offset) {
+        if (offset > 0) return leaf.xs[offset - 1];
+        Leaf prev = leaf.prev;
+        return (prev == null) ? Double.NEGATIVE_INFINITY : prev.xs[prev.size - 1];
+    }
+
+    private static double nextX(Leaf leaf, int offset) {
+        if (offset < leaf.size - 1) return leaf.xs[offset + 1];
+        Leaf next = leaf.next;
+        return (next == null) ? Double.POSITIVE_INFINITY : next.xs[0];
+    }
+
+    // X точки должен лежать строго между X соседних точек
+    private static void checkOrder(Leaf leaf, int offset, double x)
+            throws InappropriateFunctionPointException {
+
+        if (x <= previousX(leaf, offset) || x >= nextX(leaf, offset)) {
+            throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
+        }
+    }
+
+    // Обновление ключей на пути к точке номер index после изменения ее X:
+    // ключ меняется в тех узлах, где точка - первая в поддереве потомка
+    private void updateKeys(int index, double x) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int i = 0;
+            while (index >= inner.children[i].size) {
+                index -= inner.children[i].size;
+                i++;
+            }
+            if (index == 0) {
+                inner.keys[i] = x;
+            }
+            node = inner.children[i];
+        }
+    }
+
+    // Вставка точки в поддерево. Возвращает новый правый узел, если узел был разделен.
+    // Проверка существования точки выполняется до изменения дерева
+    private Node insert(Node node, double x, double y) throws InappropriateFunctionPointException {
+        if (node instanceof Leaf) {
+            return insertIntoLeaf((Leaf) node, x, y);
+        }
+
+        Inner inner = (Inner) node;
+        int i = childByX(inner, x);
+        Node right = insert(inner.children[i], x, y);
+        inner.size++;
+        inner.keys[i] = inner.children[i].minX();
+        return (right == null) ? null : insertChild(inner, i + 1, right);
+    }
+
+    private Leaf insertIntoLeaf(Leaf leaf, double x, double y) throws InappropriateFunctionPointException {
+        int i = lowerBound(leaf, x);
+        if (Math.abs(previousX(leaf, i) - x) < 1e-10 ||
+                Math.abs((i < leaf.size ? leaf.xs[i] : nextX(leaf, i - 1)) - x) < 1e-10) {
+            throw new InappropriateFunctionPointException("Точка с таким X уже существует");
+        }
+
+        Leaf target = leaf;
+        Leaf right = null;
+        if (leaf.size == LEAF_CAPACITY) {
+            right = splitLeaf(leaf);
+            if (i > leaf.size) {
+                i -= leaf.size;
+                target = right;
+            }
+        }
+
+        System.arraycopy(target.xs, i, target.xs, i + 1, target.size - i);
+        System.arraycopy(target.ys, i, target.ys, i + 1, target.size - i);
+        target.xs[i] = x;
+        target.ys[i] = y;
+        target.size++;
+        return right;
+    }
+
+    // Перенос верхней половины заполненного листа в новый лист после него
+    private Leaf splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf();
+        int half = leaf.size / 2;
+        right.size = leaf.size - half;
+        System.arraycopy(leaf.xs, half, right.xs, 0, right.size);
+        System.arraycopy(leaf.ys, half, right.ys, 0, right.size);
+        leaf.size = half;
+
+        right.prev = leaf;
+        right.next = leaf.next;
+        if (leaf.next == null) {
+            lastLeaf = right;
+        } else {
+            leaf.next.prev = right;
+        }
+        leaf.next = right;
+        return right;
+    }
+
+    // Вставка потомка на место slot. Точки потомка уже учтены в размере узла.
+    // Заполненный узел делится пополам, возвращается новый правый узел
+    private static Inner insertChild(Inner inner, int slot, Node child) {
+        if (inner.count < INNER_CAPACITY) {
+            placeChild(inner, slot, child);
+            return null;
+        }
+
+        int total = inner.size;
+        Inner right = new Inner();
+        int half = inner.count / 2;
+        right.count = inner.count - half;
+        System.arraycopy(inner.children, half, right.children, 0, right.count);
+        System.arraycopy(inner.keys, half, right.keys, 0, right.count);
+        clearChildren(inner, half, inner.count);
+        inner.count = half;
+
+        if (slot <= half) {
+            placeChild(inner, slot, child);
+        } else {
+            placeChild(right, slot - half, child);
+        }
+        for (int i = 0; i < right.count; i++) {
+            right.size += right.children[i].size;
+        }
+        inner.size = total - right.size;
+        return right;
+    }
+
+    private static void placeChild(Inner inner, int slot, Node child) {
+        System.arraycopy(inner.children, slot, inner.children, slot + 1, inner.count - slot);
+        System.arraycopy(inner.keys, slot, inner.keys, slot + 1, inner.count - slot);
+        inner.children[slot] = child;
+        inner.keys[slot] = child.minX();
+        inner.count++;
+    }
+
+    private static void clearChildren(Inner inner, int from, int to) {
+        for (int i = from; i < to; i++) {
+            inner.children[i] = null;
+        }
+    }
+
+    // Удаление точки номер index из поддерева с восстановлением заполнения потомков
+    private void delete(Node node, int index) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            System.arraycopy(leaf.xs, index + 1, leaf.xs, index, leaf.size - index - 1);
+            System.arraycopy(leaf.ys, index + 1, leaf.ys, index, leaf.size - index - 1);
+            leaf.size--;
+            return;
+        }
+
+        Inner inner = (Inner) node;
+        int i = 0;
+        while (index >= inner.children[i].size) {
+            index -= inner.children[i].size;
+            i++;
+        }
+        Node child = inner.children[i];
+        delete(child, index);
+        inner.size--;
+
+        if (child.width() < child.capacity() / 2) {
+            rebalance(inner, i);
+        } else {
+            inner.keys[i] = child.minX();
+        }
+    }
+
+    // Объединение недозаполненного потомка slot с соседним, если элементы помещаются
+    // в один узел, иначе равномерное распределение элементов между ними
+    private void rebalance(Inner inner, int slot) {
+        int j = (slot > 0) ? slot - 1 : slot;
+        Node left = inner.children[j];
+        Node right = inner.children[j + 1];
+
+        if (left.width() + right.width() <= left.capacity()) {
+            if (left instanceof Leaf) {
+                mergeLeaves((Leaf) left, (Leaf) right);
+            } else {
+                mergeInner((Inner) left, (Inner) right);
+            }
+            System.arraycopy(inner.children, j + 2, inner.children, j + 1, inner.count - j - 2);
+            System.arraycopy(inner.keys, j + 2, inner.keys, j + 1, inner.count - j - 2);
+            inner.children[--inner.count] = null;
+        } else {
+            if (left instanceof Leaf) {
+                redistributeLeaves((Leaf) left, (Leaf) right);
+            } else {
+                redistributeInner((Inner) left, (Inner) right);
+            }
+            inner.keys[j + 1] = right.minX();
+        }
+        inner.keys[j] = left.minX();
+    }
+
+    private void mergeLeaves(Leaf left, Leaf right) {
+        System.arraycopy(right.xs, 0, left.xs, left.size, right.size);
+        System.arraycopy(right.ys, 0, left.ys, left.size, right.size);
+        left.size += right.size;
+
+        left.next = right.next;
+        if (right.next == null) {
+            lastLeaf = left;
+        } else {
+            right.next.prev = left;
+        }
+    }
+
+    private static void mergeInner(Inner left, Inner right) {
+        System.arraycopy(right.children, 0, left.children, left.count, right.count);
+        System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+        left.count += right.count;
+        left.size += right.size;
+    }
+
+    private static void redistributeLeaves(Leaf left, Leaf right) {
+        int target = (left.size + right.size) / 2;
+        if (left.size > target) {
+            int moved = left.size - target;
+            System.arraycopy(right.xs, 0, right.xs, moved, right.size);
+            System.arraycopy(right.ys, 0, right.ys, moved, right.size);
+            System.arraycopy(left.xs, target, right.xs, 0, moved);
+            System.arraycopy(left.ys, target, right.ys, 0, moved);
+            left.size = target;
+            right.size += moved;
+        } else {
+            int moved = target - left.size;
+            System.arraycopy(right.xs, 0, left.xs, left.size, moved);
+            System.arraycopy(right.ys, 0, left.ys, left.size, moved);
+            System.arraycopy(right.xs, moved, right.xs, 0, right.size - moved);
+            System.arraycopy(right.ys, moved, right.ys, 0, right.size - moved);
+            left.size = target;
+            right.size -= moved;
+        }
+    }
+
+    private static void redistributeInner(Inner left, Inner right) {
+        int total = left.size + right.size;
+        int target = (left.count + right.count) / 2;
+        if (left.count > target) {
+            int moved = left.count - target;
+            System.arraycopy(right.children, 0, right.children, moved, right.count);
+            System.arraycopy(right.keys, 0, right.keys, moved, right.count);
+            System.arraycopy(left.children, target, right.children, 0, moved);
+            System.arraycopy(left.keys, target, right.keys, 0, moved);
+            clearChildren(left, target, left.count);
+            left.count = target;
+            right.count += moved;
+        } else {
+            int moved = target - left.count;
+            System.arraycopy(right.children, 0, left.children, left.count, moved);
+            System.arraycopy(right.keys, 0, left.keys, left.count, moved);
+            System.arraycopy(right.children, moved, right.children, 0, right.count - moved);
+            System.arraycopy(right.keys, moved, right.keys, 0, right.count - moved);
+            clearChildren(right, right.count - moved, right.count);
+            left.count = target;
+            right.count -= moved;
+        }
+
+        left.size = 0;
+        for (int i = 0; i < left.count; i++) {
+            left.size += left.children[i].size;
+        }
+        right.size = total - left.size;
+    }
+
+    // Реализация методов интерфейса
+    @Override
+    public double getLeftDomainBorder() {
+        return firstLeaf.xs[0];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return lastLeaf.xs[lastLeaf.size - 1];
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        // Левая точка отрезка - последняя точка с X <= x, правая - следующая за ней
+        Leaf leaf = leafByX(x);
+        int i = lowerBound(leaf, x);
+        if (i == leaf.size || leaf.xs[i] > x) {
+            i--;
+        }
+        double leftX = leaf.xs[i];
+        double leftY = leaf.ys[i];
+
+        double rightX;
+        double rightY;
+        if (i + 1 < leaf.size) {
+            rightX = leaf.xs[i + 1];
+            rightY = leaf.ys[i + 1];
+        } else if (leaf.next != null) {
+            rightX = leaf.next.xs[0];
+            rightY = leaf.next.ys[0];
+        } else {
+            return leftY;
+        }
+
+        // Сравнение с машинным эпсилоном
+        final double eps = 1e-10;
+        if (Math.abs(leftX - x) <= eps) return leftY;
+        if (Math.abs(rightX - x) <= eps) return rightY;
+
+        // Линейная интерполяция
+        return leftY + (rightY - leftY) * (x - leftX) / (rightX - leftX);
+    }
+
+    @Override
+    public int getPointsCount() {
+        return root.size;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        locate(index);
+        int offset = index - cachedStart;
+        return new FunctionPoint(cachedLeaf.xs[offset], cachedLeaf.ys[offset]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        setPointX(index, point.getX());
+        cachedLeaf.ys[index - cachedStart] = point.getY();
+    }
+
+    @Override
+    public double getPointX(int index) {
+        locate(index);
+        return cachedLeaf.xs[index - cachedStart];
+    }
+
+    @Override
+    public void setPointX(int index, double x)
+            throws InappropriateFunctionPointException {
+
+        locate(index);
+        int offset = index - cachedStart;
+        checkOrder(cachedLeaf, offset, x);
+        cachedLeaf.xs[offset] = x;
+        if (offset == 0) {
+            updateKeys(index, x);
+        }
+    }
+
+    @Override
+    public double getPointY(int index) {
+        locate(index);
+        return cachedLeaf.ys[index - cachedStart];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        locate(index);
+        cachedLeaf.ys[index - cachedStart] = y;
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        if (root.size < 3) {
+            throw new IllegalStateException("Нельзя удалить точку: останется меньше 2 точек");
+        }
+        checkIndex(index);
+
+        delete(root, index);
+        // Корень с единственным потомком заменяется потомком
+        if (root instanceof Inner && ((Inner) root).count == 1) {
+            root = ((Inner) root).children[0];
+        }
+        resetCache();
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        Node right = insert(root, point.getX(), point.getY());
+        // Разделение корня увеличивает высоту дерева
+        if (right != null) {
+            Inner newRoot = new Inner();
+            placeChild(newRoot, 0, root);
+            placeChild(newRoot, 1, right);
+            newRoot.size = root.size + right.size;
+            root = newRoot;
+        }
+        resetCache();
+    }
+
+    @Override
+    public void forEachPoint(PointVisitor visitor) {
+        int index = 0;
+        for (Leaf leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                visitor.visit(index++, leaf.xs[i], leaf.ys[i]);
+            }
+        }
+    }
+
+    // Разделители проходят по листьям и не используют запомненный лист,
+    // поэтому части обхода можно обрабатывать в разных потоках
+    @Override
+    public Spliterator<FunctionPoint> spliterator() {
+        return new LeafPointSpliterator(root, firstLeaf, 0, 0, root.size);
+    }
+
+    @Override
+    public Spliterator.OfDouble xSpliterator() {
+        return new LeafValueSpliterator(root, firstLeaf, 0, 0, root.size, true);
+    }
+
+    @Override
+    public Spliterator.OfDouble ySpliterator() {
+        return new LeafValueSpliterator(root, firstLeaf, 0, 0, root.size, false);
+    }
+
+    // Для теста
+    public void printPoints() {
+        System.out.println("B+-дерево (всего " + root.size + "):");
+        int index = 0;
+        for (Leaf leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                System.out.printf("[%d]: [%.2f; %.2f]\n", index++, leaf.xs[i], leaf.ys[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package functions;
+
+import java.util.Spliterator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+public class ConcurrentTabulatedFunction implements TabulatedFunction {
+
+    // Точки хранятся в собственной ArrayTabulatedFunction: ее методы чтения не изменяют
+    // состояние объекта, поэтому их можно выполнять без блокировки (оптимистично).
+    // Если во время такого чтения произошла запись, результат отбрасывается
+    // и чтение повторяется под блокировкой чтения
+    private final ArrayTabulatedFunction function;
+    private final StampedLock lock = new StampedLock();
+
+    // Конструкторы
+    public ConcurrentTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        function = new ArrayTabulatedFunction(leftX, rightX, pointsCount);
+    }
+
+    public ConcurrentTabulatedFunction(double leftX, double rightX, double[] values) {
+        function = new ArrayTabulatedFunction(leftX, rightX, values);
+    }
+
+    // Копия точек произвольной табулированной функции
+    public ConcurrentTabulatedFunction(TabulatedFunction source) {
+        int count = source.getPointsCount();
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = source.getPointX(i);
+            ys[i] = source.getPointY(i);
+        }
+        function = new ArrayTabulatedFunction(xs, ys, count);
+    }
+
+    // Кэш наклонов отрезков внутренней функции (см. ArrayTabulatedFunction)
+    public void setSlopeCacheEnabled(boolean enabled) {
+        long stamp = lock.writeLock();
+        try {
+            function.setSlopeCacheEnabled(enabled);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean isSlopeCacheEnabled() {
+        long stamp = lock.readLock();
+        try {
+            return function.isSlopeCacheEnabled();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Чтение без блокировки (оптимистично). Если во время чтения была запись,
+    // результат или исключение отбрасываются и чтение повторяется под блокировкой чтения.
+    // Отдельный вариант для double нужен, чтобы не упаковывать значения
+    private double readDouble(DoubleSupplier reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                double result = reader.getAsDouble();
+                if (lock.validate(stamp)) return result;
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) throw e;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return reader.getAsDouble();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) return result;
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) throw e;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Методы чтения: оптимистичная попытка, затем блокировка чтения
+    @Override
+    public double getLeftDomainBorder() {
+        return readDouble(() -> function.getLeftDomainBorder());
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return readDouble(() -> function.getRightDomainBorder());
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return readDouble(() -> function.getFunctionValue(x));
+    }
+
+    // Пакетное вычисление выполняется целиком под одной блокировкой чтения,
+    // чтобы все значения относились к одному состоянию функции
+    @Override
+    public void getFunctionValues(double[] arguments, int argumentsOffset,
+                                  double[] values, int valuesOffset, int length) {
+        long stamp = lock.readLock();
+        try {
+            function.getFunctionValues(arguments, argumentsOffset, values, valuesOffset, length);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Между вызовами функция может измениться другим потоком, поэтому каждое
+    // значение вычисляется отдельным согласованным чтением
+    @Override
+    public Evaluator evaluator() {
+        return this::getFunctionValue;
+    }
+
+    @Override
+    public int getPointsCount() {
+        // Любое значение int представимо в double точно
+        return (int) readDouble(() -> function.getPointsCount());
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        return read(() -> function.getPoint(index));
+    }
+
+    @Override
+    public double getPointX(int index) {
+        return readDouble(() -> function.getPointX(index));
+    }
+
+    @Override
+    public double getPointY(int index) {
+        return readDouble(() -> function.getPointY(index));
+    }
+
+    // Обход выполняется под блокировкой чтения: обработчик видит согласованный набор точек
+    // и не должен изменять эту функцию
+    @Override
+    public void forEachPoint(PointVisitor visitor) {
+        long stamp = lock.readLock();
+        try {
+            function.forEachPoint(visitor);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Разделители строятся по копии точек, снятой под блокировкой чтения:
+    // обход, в том числе параллельный, не мешает писателям и видит одно состояние
+    @Override
+    public Spliterator<FunctionPoint> spliterator() {
+        return copy().spliterator();
+    }
+
+    @Override
+    public Spliterator.OfDouble xSpliterator() {
+        return copy().xSpliterator();
+    }
+
+    @Override
+    public Spliterator.OfDouble ySpliterator() {
+        return copy().ySpliterator();
+    }
+
+    private ArrayTabulatedFunction copy() {
+        long stamp = lock.readLock();
+        try {
+            return new ArrayTabulatedFunction(function);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Методы изменения выполняются под блокировкой записи
+    @Override
+    public void setPoint(int index, FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        long stamp = lock.writeLock();
+        try {
+            function.setPoint(index, point);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void setPointX(int index, double x)
+            throws InappropriateFunctionPointException {
+
+        long stamp = lock.writeLock();
+        try {
+            function.setPointX(index, x);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        long stamp = lock.writeLock();
+        try {
+            function.setPointY(index, y);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        long stamp = lock.writeLock();
+        try {
+            function.deletePoint(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        long stamp = lock.writeLock();
+        try {
+            function.addPoint(point);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void deletePoints(int fromIndex, int toIndex) {
+        long stamp = lock.writeLock();
+        try {
+            function.deletePoints(fromIndex, toIndex);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void replaceRange(int fromIndex, int toIndex, double[] pointsX, double[] pointsY)
+            throws InappropriateFunctionPointException {
+
+        long stamp = lock.writeLock();
+        try {
+            function.replaceRange(fromIndex, toIndex, pointsX, pointsY);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addPoints(double[] pointsX, double[] pointsY)
+            throws InappropriateFunctionPointException {
+
+        long stamp = lock.writeLock();
+        try {
+            function.addPoints(pointsX, pointsY);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package functions;
+
+import java.util.Spliterator;
+
+public class CopyOnWriteTabulatedFunction implements TabulatedFunction {
+
+    // Текущий неизменяемый снимок точек. Читатели берут ссылку на него без блокировок,
+    // писатели строят новый снимок и публикуют его через volatile-ссылку
+    private volatile Snapshot current;
+    private final Object writeLock = new Object();
+
+    // Неизменяемый снимок функции. Хранящаяся в нем ArrayTabulatedFunction
+    // после публикации никогда не изменяется
+    private static final class Snapshot implements TabulatedFunction {
+        private final ArrayTabulatedFunction function;
+
+        private Snapshot(ArrayTabulatedFunction function) {
+            this.function = function;
+        }
+
+        @Override
+        public double getLeftDomainBorder() {
+            return function.getLeftDomainBorder();
+        }
+
+        @Override
+        public double getRightDomainBorder() {
+            return function.getRightDomainBorder();
+        }
+
+        @Override
+        public double getFunctionValue(double x) {
+            return function.getFunctionValue(x);
+        }
+
+        @Override
+        public void getFunctionValues(double[] arguments, int argumentsOffset,
+                                      double[] values, int valuesOffset, int length) {
+            function.getFunctionValues(arguments, argumentsOffset, values, valuesOffset, length);
+        }
+
+        @Override
+        public Evaluator evaluator() {
+            return function.evaluator();
+        }
+
+        @Override
+        public int getPointsCount() {
+            return function.getPointsCount();
+        }
+
+        @Override
+        public FunctionPoint getPoint(int index) {
+            return function.getPoint(index);
+        }
+
+        @Override
+        public double getPointX(int index) {
+            return function.getPointX(index);
+        }
+
+        @Override
+        public double getPointY(int index) {
+            return function.getPointY(index);
+        }
+
+        @Override
+        public void forEachPoint(PointVisitor visitor) {
+            function.forEachPoint(visitor);
+        }
+
+        @Override
+        public Spliterator<FunctionPoint> spliterator() {
+            return function.spliterator();
+        }
+
+        @Override
+        public Spliterator.OfDouble xSpliterator() {
+            return function.xSpliterator();
+        }
+
+        @Override
+        public Spliterator.OfDouble ySpliterator() {
+            return function.ySpliterator();
+        }
+
+        @Override
+        public void setPoint(int index, FunctionPoint point) {
+            throw new UnsupportedOperationException("Снимок функции не изменяется");
+        }
+
+        @Override
+        public void setPointX(int index, double x) {
+            throw new UnsupportedOperationException("Снимок функции не изменяется");
+        }
+
+        @Override
+        public void setPointY(int index, double y) {
+            throw new UnsupportedOperationException("Снимок функции не изменяется");
+        }
+
+        @Override
+        public void deletePoint(int index) {
+            throw new UnsupportedOperationException("Снимок функции не изменяется");
+        }
+
+        @Override
+        public void addPoint(FunctionPoint point) {
+            throw new UnsupportedOperationException("Снимок функции не изменяется");
+        }
+
+        @Override
+        public void addPoints(double[] pointsX, double[] pointsY) {
+            throw new UnsupportedOperationException("Снимок функции не изменяется");
+        }
+
+        @Override
+        public void deletePoints(int fromIndex, int toIndex) {
+            throw new UnsupportedOperationException("Снимок функции не изменяется");
+        }
+
+        @Override
+        public void replaceRange(int fromIndex, int toIndex, double[] pointsX, double[] pointsY) {
+            throw new UnsupportedOperationException("Снимок функции не изменяется");
+        }
+    }
+
+    // Вычислитель, работающий с вычислителем текущего снимка. При публикации
+    // нового снимка вычислитель заменяется, запомненный отрезок сбрасывается
+    private final class SnapshotEvaluator implements Evaluator {
+        private Snapshot snapshot;
+        private Evaluator evaluator;
+
+        @Override
+        public double evaluate(double x) {
+            Snapshot latest = current;
+            if (latest != snapshot) {
+                snapshot = latest;
+                evaluator = latest.function.evaluator();
+            }
+            return evaluator.evaluate(x);
+        }
+    }
+
+    // Пакет изменений, публикуемых одним новым снимком при вызове commit().
+    // Изменения применяются к собственной копии точек и не видны читателям до фиксации
+    public final class Editor implements TabulatedFunction {
+        private final Snapshot base;
+        private final ArrayTabulatedFunction function;
+        private boolean finished;
+
+        private Editor(Snapshot base) {
+            this.base = base;
+            this.function = new ArrayTabulatedFunction(base.function);
+        }
+
+        private void checkActive() {
+            if (finished) {
+                throw new IllegalStateException("Редактирование уже завершено");
+            }
+        }
+
+        // Публикация изменений. Если после начала редактирования функция была
+        // изменена другим писателем, изменения отбрасываются и выбрасывается исключение
+        public void commit() {
+            checkActive();
+            synchronized (writeLock) {
+                finished = true;
+                if (current != base) {
+                    throw new IllegalStateException("Функция изменена после начала редактирования");
+                }
+                current = new Snapshot(function);
+            }
+        }
+
+        // Отказ от изменений
+        public void rollback() {
+            finished = true;
+        }
+
+        @Override
+        public double getLeftDomainBorder() {
+            checkActive();
+            return function.getLeftDomainBorder();
+        }
+
+        @Override
+        public double getRightDomainBorder() {
+            checkActive();
+            return function.getRightDomainBorder();
+        }
+
+        @Override
+        public double getFunctionValue(double x) {
+            checkActive();
+            return function.getFunctionValue(x);
+        }
+
+        @Override
+        public int getPointsCount() {
+            checkActive();
+            return function.getPointsCount();
+        }
+
+        @Override
+        public FunctionPoint getPoint(int index) {
+            checkActive();
+            return function.getPoint(index);
+        }
+
+        @Override
+        public void setPoint(int index, FunctionPoint point)
+                throws InappropriateFunctionPointException {
+            checkActive();
+            function.setPoint(index, point);
+        }
+
+        @Override
+        public double getPointX(int index) {
+            checkActive();
+            return function.getPointX(index);
+        }
+
+        @Override
+        public void setPointX(int index, double x)
+                throws InappropriateFunctionPointException {
+            checkActive();
+            function.setPointX(index, x);
+        }
+
+        @Override
+        public double getPointY(int index) {
+            checkActive();
+            return function.getPointY(index);
+        }
+
+        @Override
+        public void setPointY(int index, double y) {
+            checkActive();
+            function.setPointY(index, y);
+        }
+
+        @Override
+        public void deletePoint(int index) {
+            checkActive();
+            function.deletePoint(index);
+        }
+
+        @Override
+        public void addPoint(FunctionPoint point)
+                throws InappropriateFunctionPointException {
+            checkActive();
+            function.addPoint(point);
+        }
+
+        @Override
+        public void addPoints(double[] pointsX, double[] pointsY)
+                throws InappropriateFunctionPointException {
+            checkActive();
+            function.addPoints(pointsX, pointsY);
+        }
+
+        @Override
+        public void deletePoints(int fromIndex, int toIndex) {
+            checkActive();
+            function.deletePoints(fromIndex, toIndex);
+        }
+
+        @Override
+        public void replaceRange(int fromIndex, int toIndex, double[] pointsX, double[] pointsY)
+                throws InappropriateFunctionPointException {
+            checkActive();
+            function.replaceRange(fromIndex, toIndex, pointsX, pointsY);
+        }
+    }
+
+    // Конструкторы
+    public CopyOnWriteTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        current = new Snapshot(new ArrayTabulatedFunction(leftX, rightX, pointsCount));
+    }
+
+    public CopyOnWriteTabulatedFunction(double leftX, double rightX, double[] values) {
+        current = new Snapshot(new ArrayTabulatedFunction(leftX, rightX, values));
+    }
+
+    // Неизменяемое представление функции на текущий момент, позволяющее
+    // выполнить несколько согласованных чтений
+    public TabulatedFunction snapshot() {
+        return current;
+    }
+
+    // Начало пакета изменений
+    public Editor edit() {
+        return new Editor(current);
+    }
+
+    // Кэш наклонов отрезков (см. ArrayTabulatedFunction). Публикуется новый снимок,
+    // последующие снимки наследуют настройку от предыдущих
+    public void setSlopeCacheEnabled(boolean enabled) {
+        synchronized (writeLock) {
+            ArrayTabulatedFunction copy = new ArrayTabulatedFunction(current.function);
+            copy.setSlopeCacheEnabled(enabled);
+            current = new Snapshot(copy);
+        }
+    }
+
+    public boolean isSlopeCacheEnabled() {
+        return current.function.isSlopeCacheEnabled();
+    }
+
+    // Методы чтения работают с текущим снимком без блокировок
+    @Override
+    public double getLeftDomainBorder() {
+        return current.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return current.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return current.getFunctionValue(x);
+    }
+
+    @Override
+    public void getFunctionValues(double[] arguments, int argumentsOffset,
+                                  double[] values, int valuesOffset, int length) {
+        current.getFunctionValues(arguments, argumentsOffset, values, valuesOffset, length);
+    }
+
+    @Override
+    public Evaluator evaluator() {
+        return new SnapshotEvaluator();
+    }
+
+    @Override
+    public int getPointsCount() {
+        return current.getPointsCount();
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        return current.getPoint(index);
+    }
+
+    @Override
+    public double getPointX(int index) {
+        return current.getPointX(index);
+    }
+
+    @Override
+    public double getPointY(int index) {
+        return current.getPointY(index);
+    }
+
+    // Обход, курсор и разделители работают с одним снимком, даже если функция изменяется во время обхода
+    @Override
+    public void forEachPoint(PointVisitor visitor) {
+        current.forEachPoint(visitor);
+    }
+
+    @Override
+    public PointCursor cursor() {
+        return current.cursor();
+    }
+
+    @Override
+    public Spliterator<FunctionPoint> spliterator() {
+        return current.spliterator();
+    }
+
+    @Override
+    public Spliterator.OfDouble xSpliterator() {
+        return current.xSpliterator();
+    }
+
+    @Override
+    public Spliterator.OfDouble ySpliterator() {
+        return current.ySpliterator();
+    }
+
+    // Каждое одиночное изменение публикует новый снимок
+    @Override
+    public void setPoint(int index, FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        synchronized (writeLock) {
+            ArrayTabulatedFunction copy = new ArrayTabulatedFunction(current.function);
+            copy.setPoint(index, point);
+            current = new Snapshot(copy);
+        }
+    }
+
+    @Override
+    public void setPointX(int index, double x)
+            throws InappropriateFunctionPointException {
+
+        synchronized (writeLock) {
+            ArrayTabulatedFunction copy = new ArrayTabulatedFunction(current.function);
+            copy.setPointX(index, x);
+            current = new Snapshot(copy);
+        }
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        synchronized (writeLock) {
+            ArrayTabulatedFunction copy = new ArrayTabulatedFunction(current.function);
+            copy.setPointY(index, y);
+            current = new Snapshot(copy);
+        }
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        synchronized (writeLock) {
+            ArrayTabulatedFunction copy = new ArrayTabulatedFunction(current.function);
+            copy.deletePoint(index);
+            current = new Snapshot(copy);
+        }
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        synchronized (writeLock) {
+            ArrayTabulatedFunction copy = new ArrayTabulatedFunction(current.function);
+            copy.addPoint(point);
+            current = new Snapshot(copy);
+        }
+    }
+
+    @Override
+    public void addPoints(double[] pointsX, double[] pointsY)
+            throws InappropriateFunctionPointException {
+
+        synchronized (writeLock) {
+            ArrayTabulatedFunction copy = new ArrayTabulatedFunction(current.function);
+            copy.addPoints(pointsX, pointsY);
+            current = new Snapshot(copy);
+        }
+    }
+
+    @Override
+    public void deletePoints(int fromIndex, int toIndex) {
+        synchronized (writeLock) {
+            ArrayTabulatedFunction copy = new ArrayTabulatedFunction(current.function);
+            copy.deletePoints(fromIndex, toIndex);
+            current = new Snapshot(copy);
+        }
+    }
+
+    @Override
+    public void replaceRange(int fromIndex, int toIndex, double[] pointsX, double[] pointsY)
+            throws InappropriateFunctionPointException {
+
+        synchronized (writeLock) {
+            ArrayTabulatedFunction copy = new ArrayTabulatedFunction(current.function);
+            copy.replaceRange(fromIndex, toIndex, pointsX, pointsY);
+            current = new Snapshot(copy);
+        }
+    }
+}
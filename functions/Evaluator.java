@@ -0,0 +1,11 @@
+package functions;
+
+// Вычисление значений функции для последовательности близких аргументов.
+// Вычислитель запоминает последний найденный отрезок и ищет следующий от него,
+// поэтому для медленно меняющегося аргумента поиск занимает O(1) в среднем.
+// Результат совпадает с getFunctionValue, в том числе после изменения функции.
+// Вычислитель не потокобезопасен и используется одним потоком
+@FunctionalInterface
+public interface Evaluator {
+    double evaluate(double x);
+}
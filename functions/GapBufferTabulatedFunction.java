@@ -0,0 +1,237 @@
+package functions;
+
+public class GapBufferTabulatedFunction implements TabulatedFunction {
+    // Точки хранятся в двух параллельных массивах с незанятым промежутком [gapStart, gapEnd).
+    // Промежуток перемещается к месту последней вставки или удаления, поэтому серия
+    // изменений рядом с одним местом сдвигает только точки между соседними правками.
+    // Точка номер i лежит в ячейке i до промежутка и в ячейке i + длина промежутка после него
+    private double[] xs;
+    private double[] ys;
+    private int gapStart;
+    private int gapEnd;
+
+    // Конструкторы
+    public GapBufferTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не менее 2");
+        }
+
+        xs = new double[pointsCount + 10];
+        ys = new double[pointsCount + 10];
+        double step = (rightX - leftX) / (pointsCount - 1);
+
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = leftX + i * step;
+        }
+        gapStart = pointsCount;
+        gapEnd = xs.length;
+    }
+
+    public GapBufferTabulatedFunction(double leftX, double rightX, double[] values) {
+        this(leftX, rightX, values.length);
+        System.arraycopy(values, 0, ys, 0, values.length);
+    }
+
+    // Ячейка массивов, в которой хранится точка номер index
+    private int cell(int index) {
+        return (index < gapStart) ? index : index + (gapEnd - gapStart);
+    }
+
+    private void checkIndex(int index) {
+        int pointsCount = getPointsCount();
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
+            );
+        }
+    }
+
+    // Перемещение промежутка так, чтобы он начинался перед точкой номер index
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int moved = gapStart - index;
+            System.arraycopy(xs, index, xs, gapEnd - moved, moved);
+            System.arraycopy(ys, index, ys, gapEnd - moved, moved);
+            gapStart -= moved;
+            gapEnd -= moved;
+        } else if (index > gapStart) {
+            int moved = index - gapStart;
+            System.arraycopy(xs, gapEnd, xs, gapStart, moved);
+            System.arraycopy(ys, gapEnd, ys, gapStart, moved);
+            gapStart += moved;
+            gapEnd += moved;
+        }
+    }
+
+    // Увеличение массивов вдвое, промежуток остается на прежнем месте
+    private void grow() {
+        int tail = xs.length - gapEnd;
+        double[] newXs = new double[xs.length * 2];
+        double[] newYs = new double[ys.length * 2];
+        System.arraycopy(xs, 0, newXs, 0, gapStart);
+        System.arraycopy(ys, 0, newYs, 0, gapStart);
+        System.arraycopy(xs, gapEnd, newXs, newXs.length - tail, tail);
+        System.arraycopy(ys, gapEnd, newYs, newYs.length - tail, tail);
+        xs = newXs;
+        ys = newYs;
+        gapEnd = xs.length - tail;
+    }
+
+    // Номер последней точки с X <= x (-1, если таких нет)
+    private int floorIndex(double x) {
+        int low = -1;
+        int high = getPointsCount() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xs[cell(mid)] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // Реализация методов интерфейса
+    @Override
+    public double getLeftDomainBorder() {
+        return xs[cell(0)];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return xs[cell(getPointsCount() - 1)];
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        int i = Math.min(floorIndex(x), getPointsCount() - 2);
+        int left = cell(i);
+        int right = cell(i + 1);
+        double leftX = xs[left];
+        double rightX = xs[right];
+
+        // Сравнение с машинным эпсилоном
+        final double eps = 1e-10;
+        if (Math.abs(leftX - x) <= eps) return ys[left];
+        if (Math.abs(rightX - x) <= eps) return ys[right];
+
+        // Линейная интерполяция
+        return ys[left] + (ys[right] - ys[left]) * (x - leftX) / (rightX - leftX);
+    }
+
+    @Override
+    public int getPointsCount() {
+        return xs.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        int cell = cell(index);
+        return new FunctionPoint(xs[cell], ys[cell]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        setPointX(index, point.getX());
+        ys[cell(index)] = point.getY();
+    }
+
+    @Override
+    public double getPointX(int index) {
+        checkIndex(index);
+        return xs[cell(index)];
+    }
+
+    @Override
+    public void setPointX(int index, double x)
+            throws InappropriateFunctionPointException {
+
+        checkIndex(index);
+        if ((index > 0 && x <= xs[cell(index - 1)]) ||
+                (index < getPointsCount() - 1 && x >= xs[cell(index + 1)])) {
+            throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
+        }
+        xs[cell(index)] = x;
+    }
+
+    @Override
+    public double getPointY(int index) {
+        checkIndex(index);
+        return ys[cell(index)];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        checkIndex(index);
+        ys[cell(index)] = y;
+    }
+
+    // Удаляемая точка присоединяется к промежутку с ближней к нему стороны
+    @Override
+    public void deletePoint(int index) {
+        if (getPointsCount() < 3) {
+            throw new IllegalStateException("Нельзя удалить точку: останется меньше 2 точек");
+        }
+        checkIndex(index);
+
+        if (index < gapStart) {
+            moveGap(index + 1);
+            gapStart--;
+        } else {
+            moveGap(index);
+            gapEnd++;
+        }
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        // Точки упорядочены, поэтому совпадение по X возможно только с соседями позиции вставки
+        double x = point.getX();
+        int i = floorIndex(x);
+        if ((i >= 0 && Math.abs(xs[cell(i)] - x) < 1e-10) ||
+                (i + 1 < getPointsCount() && Math.abs(xs[cell(i + 1)] - x) < 1e-10)) {
+            throw new InappropriateFunctionPointException("Точка с таким X уже существует");
+        }
+
+        moveGap(i + 1);
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        xs[gapStart] = x;
+        ys[gapStart] = point.getY();
+        gapStart++;
+    }
+
+    @Override
+    public void forEachPoint(PointVisitor visitor) {
+        for (int i = 0; i < gapStart; i++) {
+            visitor.visit(i, xs[i], ys[i]);
+        }
+        int shift = gapEnd - gapStart;
+        for (int cell = gapEnd; cell < xs.length; cell++) {
+            visitor.visit(cell - shift, xs[cell], ys[cell]);
+        }
+    }
+
+    // Для теста
+    public void printPoints() {
+        System.out.println("Массив с промежутком (всего " + getPointsCount() + "):");
+        for (int i = 0; i < getPointsCount(); i++) {
+            int cell = cell(i);
+            System.out.printf("[%d]: [%.2f; %.2f]\n", i, xs[cell], ys[cell]);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package functions;
+
+// Вычислитель, обращающийся к точкам функции по номеру. Отрезок ищется
+// экспоненциальным (галопирующим) поиском от предыдущего найденного отрезка
+class IndexEvaluator implements Evaluator {
+    private final TabulatedFunction function;
+    private int hint;
+
+    IndexEvaluator(TabulatedFunction function) {
+        this.function = function;
+    }
+
+    @Override
+    public double evaluate(double x) {
+        int last = function.getPointsCount() - 2;
+        if (x < function.getLeftDomainBorder() || x > function.getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        int i = findSegment(x, Math.min(hint, last), last);
+        hint = i;
+
+        double leftX = function.getPointX(i);
+        double rightX = function.getPointX(i + 1);
+
+        // Сравнение с машинным эпсилоном
+        final double eps = 1e-10;
+        if (Math.abs(leftX - x) <= eps) return function.getPointY(i);
+        if (Math.abs(rightX - x) <= eps) return function.getPointY(i + 1);
+
+        // Линейная интерполяция
+        double leftY = function.getPointY(i);
+        return leftY + (function.getPointY(i + 1) - leftY) * (x - leftX) / (rightX - leftX);
+    }
+
+    // Последняя точка с X <= x среди [0, last], поиск от точки start
+    private int findSegment(double x, int start, int last) {
+        int low;
+        int high;
+        if (function.getPointX(start) <= x) {
+            // Шаги вперед удваиваются, пока не будет найдена точка правее x
+            low = start;
+            high = last + 1;
+            for (int step = 1; low + step <= last; step <<= 1) {
+                if (function.getPointX(low + step) > x) {
+                    high = low + step;
+                    break;
+                }
+                low += step;
+            }
+        } else {
+            // Шаги назад удваиваются, пока не будет найдена точка не правее x
+            high = start;
+            low = 0;
+            for (int step = 1; high - step > 0; step <<= 1) {
+                if (function.getPointX(high - step) <= x) {
+                    low = high - step;
+                    break;
+                }
+                high -= step;
+            }
+        }
+
+        // Бинарный поиск: X в точке low не больше x, в точке high - больше
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (function.getPointX(mid) <= x) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
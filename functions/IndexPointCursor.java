@@ -0,0 +1,59 @@
+package functions;
+
+// Курсор, обращающийся к точкам функции по номеру
+class IndexPointCursor implements PointCursor {
+    private final TabulatedFunction function;
+    private int index = -1;
+
+    IndexPointCursor(TabulatedFunction function) {
+        this.function = function;
+    }
+
+    @Override
+    public boolean next() {
+        int count = function.getPointsCount();
+        if (index < count) index++;
+        return index < count;
+    }
+
+    @Override
+    public boolean previous() {
+        if (index >= 0) index--;
+        return index >= 0;
+    }
+
+    @Override
+    public void moveTo(int index) {
+        if (index < 0 || index >= function.getPointsCount()) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Индекс " + index + " вне границ [0, " + (function.getPointsCount() - 1) + "]"
+            );
+        }
+        this.index = index;
+    }
+
+    @Override
+    public void beforeFirst() {
+        index = -1;
+    }
+
+    @Override
+    public void afterLast() {
+        index = function.getPointsCount();
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public double getX() {
+        return function.getPointX(index);
+    }
+
+    @Override
+    public double getY() {
+        return function.getPointY(index);
+    }
+}
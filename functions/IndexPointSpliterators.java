@@ -0,0 +1,128 @@
+package functions;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+// Разделители, обращающиеся к точкам функции по номеру.
+// Разбиение делит диапазон номеров пополам за O(1)
+final class IndexPointSpliterators {
+
+    static final int POINT_CHARACTERISTICS =
+            Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+    static final int X_CHARACTERISTICS =
+            Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED | Spliterator.DISTINCT;
+    static final int Y_CHARACTERISTICS =
+            Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+
+    private IndexPointSpliterators() {
+    }
+
+    // Общая часть: диапазон номеров [index, end)
+    private abstract static class IndexRange {
+        final TabulatedFunction function;
+        int index;
+        final int end;
+
+        IndexRange(TabulatedFunction function, int index, int end) {
+            this.function = function;
+            this.index = index;
+            this.end = end;
+        }
+
+        // Начало второй половины диапазона, -1 если делить нечего
+        int split() {
+            int middle = (index + end) >>> 1;
+            return (middle <= index) ? -1 : middle;
+        }
+
+        public long estimateSize() {
+            return end - index;
+        }
+    }
+
+    static final class Points extends IndexRange implements Spliterator<FunctionPoint> {
+
+        Points(TabulatedFunction function, int index, int end) {
+            super(function, index, end);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super FunctionPoint> action) {
+            if (index >= end) return false;
+            action.accept(function.getPoint(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super FunctionPoint> action) {
+            while (index < end) {
+                action.accept(function.getPoint(index++));
+            }
+        }
+
+        @Override
+        public Spliterator<FunctionPoint> trySplit() {
+            int middle = split();
+            if (middle < 0) return null;
+            Points prefix = new Points(function, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public int characteristics() {
+            return POINT_CHARACTERISTICS;
+        }
+    }
+
+    static final class Values extends IndexRange implements Spliterator.OfDouble {
+        private final boolean x;
+
+        // x = true - разделитель по X точек, иначе по Y
+        Values(TabulatedFunction function, int index, int end, boolean x) {
+            super(function, index, end);
+            this.x = x;
+        }
+
+        private double value(int i) {
+            return x ? function.getPointX(i) : function.getPointY(i);
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= end) return false;
+            action.accept(value(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            while (index < end) {
+                action.accept(value(index++));
+            }
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            int middle = split();
+            if (middle < 0) return null;
+            Values prefix = new Values(function, index, middle, x);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public int characteristics() {
+            return x ? X_CHARACTERISTICS : Y_CHARACTERISTICS;
+        }
+
+        // X упорядочены по возрастанию (естественный порядок)
+        @Override
+        public Comparator<? super Double> getComparator() {
+            if (x) return null;
+            throw new IllegalStateException();
+        }
+    }
+}
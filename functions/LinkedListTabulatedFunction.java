@@ -1,30 +1,320 @@
 package functions;
 
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
+
 public class LinkedListTabulatedFunction implements TabulatedFunction {
 
-    // Класс для узла списка
-    protected class FunctionNode {
-        public FunctionPoint point;
+    // Класс для узла списка. Координаты точки хранятся в самом узле,
+    // объекты FunctionPoint создаются только на границе API
+    protected static class FunctionNode {
+        public double x;
+        public double y;
         public FunctionNode prev;
         public FunctionNode next;
+        // Связь в пуле удаленных узлов. prev и next удаленного узла обнуляются,
+        // поэтому устаревший обход не может уйти по ним в пул. При сжатых
+        // ссылках поле помещается в выравнивание и не увеличивает узел
+        private FunctionNode nextFree;
 
-        public FunctionNode(FunctionPoint point) {
-            this.point = point;
-            this.prev = null;
-            this.next = null;
+        public FunctionNode() {
         }
 
-        public FunctionNode(FunctionPoint point, FunctionNode prev, FunctionNode next) {
-            this.point = point;
+        public FunctionNode(double x, double y, FunctionNode prev, FunctionNode next) {
+            this.x = x;
+            this.y = y;
             this.prev = prev;
             this.next = next;
         }
     }
 
+    // Узел с наклоном отрезка до следующей точки. Используется только при включенном
+    // кэше наклонов, поэтому без кэша узлы не занимают память под наклон
+    private static final class SlopeNode extends FunctionNode {
+        double slope;
+
+        SlopeNode(double x, double y, FunctionNode prev, FunctionNode next) {
+            super(x, y, prev, next);
+        }
+    }
+
+    // Курсор, переходящий между соседними узлами за O(1). После изменения набора
+    // узлов запомненный узел мог быть удален, поэтому, как в NodeEvaluator, узел
+    // находится заново по номеру
+    private class NodeCursor implements PointCursor {
+        private FunctionNode node = head;
+        private int index = -1;
+        private int expectedModCount = modCount;
+
+        private void sync() {
+            if (expectedModCount != modCount) {
+                expectedModCount = modCount;
+                index = Math.min(index, pointsCount);
+                node = (index < 0 || index == pointsCount) ? head : nodeAt(index);
+            }
+        }
+
+        @Override
+        public boolean next() {
+            sync();
+            if (index < pointsCount) {
+                node = node.next;
+                index++;
+            }
+            return index < pointsCount;
+        }
+
+        @Override
+        public boolean previous() {
+            sync();
+            if (index >= 0) {
+                node = node.prev;
+                index--;
+            }
+            return index >= 0;
+        }
+
+        @Override
+        public void moveTo(int index) {
+            node = getNodeByIndex(index);
+            this.index = index;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void beforeFirst() {
+            node = head;
+            index = -1;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void afterLast() {
+            node = head;
+            index = pointsCount;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public double getX() {
+            checkPosition();
+            return node.x;
+        }
+
+        @Override
+        public double getY() {
+            checkPosition();
+            return node.y;
+        }
+
+        private void checkPosition() {
+            sync();
+            if (index < 0 || index >= pointsCount) {
+                throw new FunctionPointIndexOutOfBoundsException("Курсор не указывает на точку");
+            }
+        }
+    }
+
+    // Общая часть разделителей: участок списка из узлов с номерами [index, end).
+    // Разбиение проходит от начала участка до середины, половины получаются равными.
+    // После изменения набора узлов текущий узел находится заново по номеру, как
+    // в IndexPointSpliterators: номер за концом списка дает исключение
+    private abstract class NodeRange {
+        FunctionNode node;
+        int index;
+        final int end;
+        private int expectedModCount = modCount;
+
+        NodeRange(FunctionNode node, int index, int end) {
+            this.node = node;
+            this.index = index;
+            this.end = end;
+        }
+
+        // Узел с номером index. Переход на голову означает, что список стал короче участка
+        FunctionNode current() {
+            if (expectedModCount != modCount || node == head) {
+                expectedModCount = modCount;
+                node = nodeAt(index);
+            }
+            return node;
+        }
+
+        // Переход ко второй половине участка, возвращает номер ее начала или -1
+        int split() {
+            int middle = (index + end) >>> 1;
+            if (middle <= index) return -1;
+            current();
+            for (int i = index; i < middle; i++) {
+                node = node.next;
+            }
+            index = middle;
+            return middle;
+        }
+
+        public long estimateSize() {
+            return end - index;
+        }
+    }
+
+    private final class NodePointSpliterator extends NodeRange implements Spliterator<FunctionPoint> {
+
+        NodePointSpliterator(FunctionNode node, int index, int end) {
+            super(node, index, end);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super FunctionPoint> action) {
+            if (index >= end) return false;
+            FunctionNode current = current();
+            action.accept(new FunctionPoint(current.x, current.y));
+            node = current.next;
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super FunctionPoint> action) {
+            for (; index < end; index++) {
+                FunctionNode current = current();
+                action.accept(new FunctionPoint(current.x, current.y));
+                node = current.next;
+            }
+        }
+
+        @Override
+        public Spliterator<FunctionPoint> trySplit() {
+            FunctionNode first = current();
+            int start = index;
+            int middle = split();
+            return (middle < 0) ? null : new NodePointSpliterator(first, start, middle);
+        }
+
+        @Override
+        public int characteristics() {
+            return IndexPointSpliterators.POINT_CHARACTERISTICS;
+        }
+    }
+
+    private final class NodeValueSpliterator extends NodeRange implements Spliterator.OfDouble {
+        private final boolean x;
+
+        NodeValueSpliterator(FunctionNode node, int index, int end, boolean x) {
+            super(node, index, end);
+            this.x = x;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= end) return false;
+            FunctionNode current = current();
+            action.accept(x ? current.x : current.y);
+            node = current.next;
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            for (; index < end; index++) {
+                FunctionNode current = current();
+                action.accept(x ? current.x : current.y);
+                node = current.next;
+            }
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            FunctionNode first = current();
+            int start = index;
+            int middle = split();
+            return (middle < 0) ? null : new NodeValueSpliterator(first, start, middle, x);
+        }
+
+        @Override
+        public int characteristics() {
+            return x ? IndexPointSpliterators.X_CHARACTERISTICS : IndexPointSpliterators.Y_CHARACTERISTICS;
+        }
+
+        @Override
+        public Comparator<? super Double> getComparator() {
+            if (x) return null;
+            throw new IllegalStateException();
+        }
+    }
+
+    // Построение участка списка из точек с номерами [from, to): половины участка
+    // строятся параллельно и затем сцепляются
+    private final class ChainTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final DoubleUnaryOperator function;
+        private final double leftX;
+        private final double step;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private FunctionNode first;
+        private FunctionNode last;
+
+        ChainTask(DoubleUnaryOperator function, double leftX, double step, int from, int to, int threshold) {
+            this.function = function;
+            this.leftX = leftX;
+            this.step = step;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    double x = leftX + i * step;
+                    FunctionNode node = new FunctionNode(x, function.applyAsDouble(x), last, null);
+                    if (last == null) {
+                        first = node;
+                    } else {
+                        last.next = node;
+                    }
+                    last = node;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            ChainTask left = new ChainTask(function, leftX, step, from, middle, threshold);
+            ChainTask right = new ChainTask(function, leftX, step, middle, to, threshold);
+            invokeAll(left, right);
+            left.last.next = right.first;
+            right.first.prev = left.last;
+            first = left.first;
+            last = right.last;
+        }
+    }
+
     private FunctionNode head;
     private FunctionNode lastAccessed;
     private int lastIndex;
     private int pointsCount;
+    private boolean slopeCache;
+    // Счетчик изменений набора узлов, по нему вычислители, курсоры и разделители
+    // узнают об удалении узлов
+    private int modCount;
+
+    // Пул удаленных узлов (односвязный список по nextFree) для повторного использования
+    // при добавлении точек. По умолчанию пул выключен (вместимость 0)
+    private FunctionNode freeNodes;
+    private int freeCount;
+    private int poolCapacity;
 
     // Конструкторы
     public LinkedListTabulatedFunction(double leftX, double rightX, int pointsCount) {
@@ -36,7 +326,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         }
 
         // Создание головы
-        head = new FunctionNode(null);
+        head = new FunctionNode();
         head.next = head;
         head.prev = head;
 
@@ -48,8 +338,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
 
         // Создание точек
         for (int i = 0; i < pointsCount; i++) {
-            FunctionPoint point = new FunctionPoint(leftX + i * step, 0);
-            addNodeToTail().point = point;
+            addNodeToTail(leftX + i * step, 0);
         }
     }
 
@@ -59,12 +348,108 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         // Устанавливаем значения Y
         FunctionNode current = head.next;
         for (int i = 0; i < values.length; i++) {
-            current.point.setY(values[i]);
+            current.y = values[i];
             current = current.next;
         }
     }
 
+    // Вычислитель с запоминанием левого узла последнего отрезка. Поиск идет
+    // по соседним узлам от него; после изменения набора узлов запомненный узел
+    // мог быть удален, поэтому поиск начинается с первого узла
+    private class NodeEvaluator implements Evaluator {
+        private FunctionNode left;
+        private int expectedModCount;
+
+        @Override
+        public double evaluate(double x) {
+            if (x < head.next.x || x > head.prev.x) {
+                return Double.NaN;
+            }
+            if (left == null || expectedModCount != modCount) {
+                left = head.next;
+                expectedModCount = modCount;
+            }
+
+            FunctionNode last = head.prev.prev;
+            while (left != last && x >= left.next.x) {
+                left = left.next;
+            }
+            while (left != head.next && x < left.x) {
+                left = left.prev;
+            }
+
+            // Сравнение с машинным эпсилоном
+            if (Math.abs(left.x - x) < 1e-10) {
+                return left.y;
+            }
+            if (Math.abs(left.next.x - x) < 1e-10) {
+                return left.next.y;
+            }
+            return interpolate(left, x);
+        }
+    }
+
+    // Пустой список из одной головы, заполняется фабричными методами
+    private LinkedListTabulatedFunction() {
+        head = new FunctionNode();
+        head.next = head;
+        head.prev = head;
+        lastIndex = -1;
+    }
+
+    // Табулирование функции на равномерной сетке. Узлы создаются и значения
+    // вычисляются параллельно участками, участки не длиннее threshold точек
+    // строятся последовательно
+    public static LinkedListTabulatedFunction tabulate(DoubleUnaryOperator function,
+                                                       double leftX, double rightX, int pointsCount) {
+        return tabulate(function, leftX, rightX, pointsCount, Tabulation.DEFAULT_THRESHOLD);
+    }
+
+    public static LinkedListTabulatedFunction tabulate(DoubleUnaryOperator function,
+                                                       double leftX, double rightX, int pointsCount, int threshold) {
+        Tabulation.checkGrid(leftX, rightX, pointsCount);
+        Tabulation.checkThreshold(threshold);
+
+        LinkedListTabulatedFunction result = new LinkedListTabulatedFunction();
+        double step = (rightX - leftX) / (pointsCount - 1);
+        ChainTask task = result.new ChainTask(function, leftX, step, 0, pointsCount, threshold);
+        Tabulation.run(task, pointsCount, threshold);
+
+        FunctionNode head = result.head;
+        head.next = task.first;
+        task.first.prev = head;
+        head.prev = task.last;
+        task.last.next = head;
+        result.pointsCount = pointsCount;
+        return result;
+    }
+
     // Методы работы со списком
+
+    // Поиск узла от ближайшего конца списка без кэша последнего обращения,
+    // для обходов, которые могут выполняться в разных потоках
+    private FunctionNode nodeAt(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
+            );
+        }
+
+        FunctionNode current;
+        if (index < pointsCount / 2) {
+            current = head.next;
+            for (int i = 0; i < index; i++) {
+                current = current.next;
+            }
+        } else {
+            current = head.prev;
+            for (int i = pointsCount - 1; i > index; i--) {
+                current = current.prev;
+            }
+        }
+        return current;
+    }
+
     private FunctionNode getNodeByIndex(int index) {
         if (index < 0 || index >= pointsCount) {
             throw new FunctionPointIndexOutOfBoundsException(
@@ -126,16 +511,62 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         return current;
     }
 
-    private FunctionNode addNodeToTail() {
-        FunctionNode newNode = new FunctionNode(null, head.prev, head);
+    // Вместимость пула узлов; при уменьшении лишние узлы освобождаются
+    public void setNodePoolCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Вместимость пула не может быть отрицательной");
+        }
+        poolCapacity = capacity;
+        while (freeCount > capacity) {
+            FunctionNode node = freeNodes;
+            freeNodes = node.nextFree;
+            node.nextFree = null;
+            freeCount--;
+        }
+    }
+
+    public int getNodePoolCapacity() {
+        return poolCapacity;
+    }
+
+    // Узел из пула или новый узел
+    private FunctionNode obtainNode(double x, double y, FunctionNode prev, FunctionNode next) {
+        FunctionNode node = freeNodes;
+        if (node == null) {
+            return slopeCache ? new SlopeNode(x, y, prev, next) : new FunctionNode(x, y, prev, next);
+        }
+        freeNodes = node.nextFree;
+        node.nextFree = null;
+        freeCount--;
+        node.x = x;
+        node.y = y;
+        node.prev = prev;
+        node.next = next;
+        return node;
+    }
+
+    // Возврат удаленного узла в пул, если в нем есть место
+    private void releaseNode(FunctionNode node) {
+        if (freeCount < poolCapacity) {
+            node.prev = null;
+            node.next = null;
+            node.nextFree = freeNodes;
+            freeNodes = node;
+            freeCount++;
+        }
+    }
+
+    private FunctionNode addNodeToTail(double x, double y) {
+        FunctionNode newNode = obtainNode(x, y, head.prev, head);
         head.prev.next = newNode;
         head.prev = newNode;
         pointsCount++;
         lastAccessed = null;
+        modCount++;
         return newNode;
     }
 
-    private FunctionNode addNodeByIndex(int index) {
+    private FunctionNode addNodeByIndex(int index, double x, double y) {
         if (index < 0 || index > pointsCount) {
             throw new FunctionPointIndexOutOfBoundsException(
                     "Индекс " + index + " вне границ [0, " + pointsCount + "]"
@@ -143,21 +574,22 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         }
 
         if (index == pointsCount) {
-            return addNodeToTail();
+            return addNodeToTail(x, y);
         }
 
         FunctionNode nodeAtIndex = getNodeByIndex(index);
-        FunctionNode newNode = new FunctionNode(null, nodeAtIndex.prev, nodeAtIndex);
+        FunctionNode newNode = obtainNode(x, y, nodeAtIndex.prev, nodeAtIndex);
 
         nodeAtIndex.prev.next = newNode;
         nodeAtIndex.prev = newNode;
 
         pointsCount++;
         lastAccessed = null;
+        modCount++;
         return newNode;
     }
 
-    private FunctionNode deleteNodeByIndex(int index) {
+    private void deleteNodeByIndex(int index) {
         if (pointsCount < 3) {
             throw new IllegalStateException("Нельзя удалить точку: останется меньше 2 точек");
         }
@@ -166,22 +598,76 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
 
         nodeToDelete.prev.next = nodeToDelete.next;
         nodeToDelete.next.prev = nodeToDelete.prev;
+        updateSlope(nodeToDelete.prev);
+
+        releaseNode(nodeToDelete);
 
         pointsCount--;
         lastAccessed = null;
+        modCount++;
+    }
+
+    // Включение и выключение кэша наклонов. С кэшем интерполяция не выполняет
+    // деления, зато каждое изменение точек дополнительно пересчитывает наклоны.
+    // Переключение заменяет все узлы узлами нужного вида за O(n), пул узлов очищается
+    public void setSlopeCacheEnabled(boolean enabled) {
+        if (enabled == slopeCache) {
+            return;
+        }
+        slopeCache = enabled;
+        freeNodes = null;
+        freeCount = 0;
+
+        FunctionNode last = head;
+        for (FunctionNode node = head.next; node != head; node = node.next) {
+            FunctionNode copy = obtainNode(node.x, node.y, last, head);
+            last.next = copy;
+            last = copy;
+        }
+        head.prev = last;
+        lastAccessed = null;
+        modCount++;
+
+        for (FunctionNode node = head.next; node != head; node = node.next) {
+            updateSlope(node);
+        }
+    }
+
+    public boolean isSlopeCacheEnabled() {
+        return slopeCache;
+    }
+
+    // Пересчет наклона отрезка, начинающегося в узле node
+    private void updateSlope(FunctionNode node) {
+        if (slopeCache && node != head && node.next != head) {
+            ((SlopeNode) node).slope = (node.next.y - node.y) / (node.next.x - node.x);
+        }
+    }
 
-        return nodeToDelete;
+    // Пересчет наклонов двух отрезков, концом которых является узел node
+    private void updateSlopesAround(FunctionNode node) {
+        updateSlope(node.prev);
+        updateSlope(node);
+    }
+
+    // Значение на отрезке, начинающемся в узле left (x не совпадает с его концами)
+    private double interpolate(FunctionNode left, double x) {
+        if (slopeCache) {
+            return left.y + ((SlopeNode) left).slope * (x - left.x);
+        }
+        FunctionNode right = left.next;
+        return left.y + (right.y - left.y) * (x - left.x) / (right.x - left.x);
     }
 
     // Реализация методов интерфейса
     @Override
     public double getLeftDomainBorder() {
-        return head.next.point.getX();
+        return head.next.x;
     }
 
     @Override
     public double getRightDomainBorder() {
-        return head.prev.point.getX();
+        return head.prev.x;
     }
 
     @Override
@@ -195,28 +681,65 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
 
         // Если x близко к границам
         if (Math.abs(x - leftBorder) < 1e-10) {
-            return head.next.point.getY();
+            return head.next.y;
         }
         if (Math.abs(x - rightBorder) < 1e-10) {
-            return head.prev.point.getY();
+            return head.prev.y;
         }
 
         // Ищем интервал
         FunctionNode current = head.next;
-        while (current != head && current.point.getX() < x) {
+        while (current != head && current.x < x) {
             current = current.next;
         }
 
         // Если x равен координате точки
-        if (Math.abs(current.point.getX() - x) < 1e-10) {
-            return current.point.getY();
+        if (Math.abs(current.x - x) < 1e-10) {
+            return current.y;
         }
 
         // Линейная интерполяция
-        FunctionPoint left = current.prev.point;
-        FunctionPoint right = current.point;
-        return left.getY() + (right.getY() - left.getY()) *
-                (x - left.getX()) / (right.getX() - left.getX());
+        return interpolate(current.prev, x);
+    }
+
+    @Override
+    public void getFunctionValues(double[] arguments, int argumentsOffset,
+                                  double[] values, int valuesOffset, int length) {
+        TabulatedFunction.checkBatchRange(arguments, argumentsOffset, values, valuesOffset, length);
+
+        double leftBorder = getLeftDomainBorder();
+        double rightBorder = getRightDomainBorder();
+        FunctionNode last = head.prev.prev;
+        FunctionNode left = head.next;
+        double previous = leftBorder;
+
+        for (int k = 0; k < length; k++) {
+            double x = arguments[argumentsOffset + k];
+            if (x < leftBorder || x > rightBorder) {
+                values[valuesOffset + k] = Double.NaN;
+                continue;
+            }
+
+            // Для возрастающей последовательности аргументов список проходится
+            // один раз, при убывании аргумента обход начинается заново
+            if (x < previous) {
+                left = head.next;
+            }
+            previous = x;
+            while (left != last && x > left.next.x) {
+                left = left.next;
+            }
+
+            // Сравнение с машинным эпсилоном
+            FunctionNode right = left.next;
+            if (Math.abs(left.x - x) < 1e-10) {
+                values[valuesOffset + k] = left.y;
+            } else if (Math.abs(right.x - x) < 1e-10) {
+                values[valuesOffset + k] = right.y;
+            } else {
+                values[valuesOffset + k] = interpolate(left, x);
+            }
+        }
     }
 
     @Override
@@ -227,7 +750,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
     @Override
     public FunctionPoint getPoint(int index) {
         FunctionNode node = getNodeByIndex(index);
-        return new FunctionPoint(node.point);
+        return new FunctionPoint(node.x, node.y);
     }
 
     @Override
@@ -237,17 +760,19 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         FunctionNode node = getNodeByIndex(index);
 
         // Проверяем порядок
-        if ((index > 0 && point.getX() <= node.prev.point.getX()) ||
-                (index < pointsCount - 1 && point.getX() >= node.next.point.getX())) {
+        if ((index > 0 && point.getX() <= node.prev.x) ||
+                (index < pointsCount - 1 && point.getX() >= node.next.x)) {
             throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
         }
 
-        node.point = new FunctionPoint(point);
+        node.x = point.getX();
+        node.y = point.getY();
+        updateSlopesAround(node);
     }
 
     @Override
     public double getPointX(int index) {
-        return getNodeByIndex(index).point.getX();
+        return getNodeByIndex(index).x;
     }
 
     @Override
@@ -257,22 +782,25 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         FunctionNode node = getNodeByIndex(index);
 
         // Проверяем порядок
-        if ((index > 0 && x <= node.prev.point.getX()) ||
-                (index < pointsCount - 1 && x >= node.next.point.getX())) {
+        if ((index > 0 && x <= node.prev.x) ||
+                (index < pointsCount - 1 && x >= node.next.x)) {
             throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
         }
 
-        node.point.setX(x);
+        node.x = x;
+        updateSlopesAround(node);
     }
 
     @Override
     public double getPointY(int index) {
-        return getNodeByIndex(index).point.getY();
+        return getNodeByIndex(index).y;
     }
 
     @Override
     public void setPointY(int index, double y) {
-        getNodeByIndex(index).point.setY(y);
+        FunctionNode node = getNodeByIndex(index);
+        node.y = y;
+        updateSlopesAround(node);
     }
 
     @Override
@@ -285,41 +813,178 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
             throws InappropriateFunctionPointException {
 
         if (point.getX() < getLeftDomainBorder()) {
-            FunctionNode newNode = new FunctionNode(new FunctionPoint(point), head, head.next);
+            FunctionNode newNode = obtainNode(point.getX(), point.getY(), head, head.next);
             head.next.prev = newNode;
             head.next = newNode;
+            updateSlope(newNode);
             pointsCount++;
             lastAccessed = null;
+            modCount++;
             return;
         }
 
         if (point.getX() > getRightDomainBorder()) {
-            FunctionNode newNode = new FunctionNode(new FunctionPoint(point), head.prev, head);
+            FunctionNode newNode = obtainNode(point.getX(), point.getY(), head.prev, head);
             head.prev.next = newNode;
             head.prev = newNode;
+            updateSlope(newNode.prev);
             pointsCount++;
             lastAccessed = null;
+            modCount++;
             return;
         }
 
         // Проверяем существование точки с таким X
         FunctionNode current = head.next;
         while (current != head) {
-            if (Math.abs(current.point.getX() - point.getX()) < 1e-10) {
+            if (Math.abs(current.x - point.getX()) < 1e-10) {
                 throw new InappropriateFunctionPointException("Точка с таким X уже существует");
             }
-            if (current.point.getX() > point.getX()) {
+            if (current.x > point.getX()) {
                 break;
             }
             current = current.next;
         }
 
         // Вставляем перед curr
-        FunctionNode newNode = new FunctionNode(new FunctionPoint(point), current.prev, current);
+        FunctionNode newNode = obtainNode(point.getX(), point.getY(), current.prev, current);
         current.prev.next = newNode;
         current.prev = newNode;
+        updateSlopesAround(newNode);
         pointsCount++;
         lastAccessed = null;
+        modCount++;
+    }
+
+    // Вставка упорядоченного набора за один проход по списку
+    @Override
+    public void addPoints(double[] pointsX, double[] pointsY)
+            throws InappropriateFunctionPointException {
+
+        double[][] batch = PointArrays.copyOf(pointsX, pointsY);
+        double[] batchX = batch[0];
+        double[] batchY = batch[1];
+        PointArrays.sortByX(batchX, batchY);
+        PointArrays.checkDistinct(batchX);
+        PointArrays.checkDistinct(this, batchX);
+
+        FunctionNode current = head.next;
+        for (int j = 0; j < batchX.length; j++) {
+            while (current != head && current.x < batchX[j]) {
+                current = current.next;
+            }
+
+            // Вставляем перед current
+            FunctionNode newNode = obtainNode(batchX[j], batchY[j], current.prev, current);
+            current.prev.next = newNode;
+            current.prev = newNode;
+            updateSlopesAround(newNode);
+        }
+        pointsCount += batchX.length;
+        lastAccessed = null;
+        modCount++;
+    }
+
+    @Override
+    public void forEachPoint(PointVisitor visitor) {
+        FunctionNode current = head.next;
+        for (int i = 0; i < pointsCount; i++) {
+            visitor.visit(i, current.x, current.y);
+            current = current.next;
+        }
+    }
+
+    @Override
+    public PointCursor cursor() {
+        return new NodeCursor();
+    }
+
+    @Override
+    public Evaluator evaluator() {
+        return new NodeEvaluator();
+    }
+
+    // Разделители проходят по узлам и не используют кэш последнего обращения,
+    // поэтому части обхода можно обрабатывать в разных потоках
+    @Override
+    public Spliterator<FunctionPoint> spliterator() {
+        return new NodePointSpliterator(head.next, 0, pointsCount);
+    }
+
+    @Override
+    public Spliterator.OfDouble xSpliterator() {
+        return new NodeValueSpliterator(head.next, 0, pointsCount, true);
+    }
+
+    @Override
+    public Spliterator.OfDouble ySpliterator() {
+        return new NodeValueSpliterator(head.next, 0, pointsCount, false);
+    }
+
+    // Удаление диапазона: участок списка вырезается целиком за O(k)
+    @Override
+    public void deletePoints(int fromIndex, int toIndex) {
+        PointArrays.checkRange(fromIndex, toIndex, pointsCount);
+        PointArrays.checkRemaining(pointsCount - (toIndex - fromIndex));
+        if (fromIndex == toIndex) {
+            return;
+        }
+
+        FunctionNode first = getNodeByIndex(fromIndex);
+        FunctionNode before = first.prev;
+        FunctionNode after = first;
+        for (int i = fromIndex; i < toIndex; i++) {
+            FunctionNode next = after.next;
+            releaseNode(after);
+            after = next;
+        }
+
+        before.next = after;
+        after.prev = before;
+        updateSlope(before);
+        pointsCount -= toIndex - fromIndex;
+        lastAccessed = null;
+        modCount++;
+    }
+
+    // Замена диапазона: участок вырезается, на его место вставляется цепочка новых узлов
+    @Override
+    public void replaceRange(int fromIndex, int toIndex, double[] pointsX, double[] pointsY)
+            throws InappropriateFunctionPointException {
+
+        PointArrays.checkRange(fromIndex, toIndex, pointsCount);
+        double[][] batch = PointArrays.copyOf(pointsX, pointsY);
+        double[] batchX = batch[0];
+        double[] batchY = batch[1];
+        PointArrays.sortByX(batchX, batchY);
+        PointArrays.checkReplacement(this, fromIndex, toIndex, batchX);
+        PointArrays.checkRemaining(pointsCount - (toIndex - fromIndex) + batchX.length);
+
+        // Узел перед диапазоном и узел после него
+        FunctionNode before = fromIndex == 0 ? head : getNodeByIndex(fromIndex - 1);
+        FunctionNode after = before.next;
+        for (int i = fromIndex; i < toIndex; i++) {
+            FunctionNode next = after.next;
+            releaseNode(after);
+            after = next;
+        }
+
+        FunctionNode current = before;
+        for (int j = 0; j < batchX.length; j++) {
+            FunctionNode newNode = obtainNode(batchX[j], batchY[j], current, null);
+            current.next = newNode;
+            current = newNode;
+        }
+        current.next = after;
+        after.prev = current;
+        updateSlope(before);
+        for (FunctionNode node = before.next; node != after; node = node.next) {
+            updateSlope(node);
+        }
+
+        pointsCount += batchX.length - (toIndex - fromIndex);
+        lastAccessed = null;
+        modCount++;
     }
 
     // Дополнительные оптимизированные методы
@@ -332,7 +997,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         FunctionNode current = getNodeByIndex(startIndex);
 
         for (int i = 0; i < count; i++) {
-            result[i] = new FunctionPoint(current.point);
+            result[i] = new FunctionPoint(current.x, current.y);
             current = current.next;
         }
 
@@ -346,7 +1011,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         int i = 0;
         while (current != head) {
             System.out.printf("[%d]: [%.2f; %.2f]\n",
-                    i++, current.point.getX(), current.point.getY());
+                    i++, current.x, current.y);
             current = current.next;
         }
     }
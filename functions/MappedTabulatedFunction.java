@@ -0,0 +1,259 @@
+package functions;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedTabulatedFunction implements TabulatedFunction {
+
+    // Файл в формате TabulatedFunctions.writeTabulatedFunction
+    private static final int DOUBLE_BYTES = 8;
+
+    // Отображение файла в память, все чтения идут напрямую из него
+    private final MappedByteBuffer buffer;
+    private final boolean writable;
+    private final int pointsCount;
+    private final int xOffset;
+    private final int yOffset;
+
+    // Для равномерной сетки блок X в файле отсутствует, X вычисляются
+    private final boolean uniform;
+    private final double gridLeftX;
+    private final double gridStep;
+
+    private MappedTabulatedFunction(MappedByteBuffer buffer, int pointsCount, boolean writable,
+                                    int headerBytes, boolean uniform, double gridLeftX, double gridStep) {
+        this.buffer = buffer;
+        this.pointsCount = pointsCount;
+        this.writable = writable;
+        this.uniform = uniform;
+        this.gridLeftX = gridLeftX;
+        this.gridStep = gridStep;
+        this.xOffset = headerBytes;
+        this.yOffset = uniform ? headerBytes : headerBytes + pointsCount * DOUBLE_BYTES;
+    }
+
+    // Отображение файла только для чтения. Проверяются только заголовок и размер файла,
+    // за O(1) и без чтения точек; порядок X проверяет validate()
+    public static MappedTabulatedFunction open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    // При writable = true изменения координат точек записываются прямо в файл,
+    // добавление и удаление точек не поддерживаются
+    public static MappedTabulatedFunction open(Path path, boolean writable) throws IOException {
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        StandardOpenOption[] options = writable
+                ? new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[] {StandardOpenOption.READ};
+
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            long size = channel.size();
+            if (size < TabulatedFunctions.HEADER_BYTES_V1 || size > Integer.MAX_VALUE) {
+                throw new IOException("Некорректный размер файла: " + size);
+            }
+
+            // Отображение остается действительным и после закрытия канала
+            MappedByteBuffer buffer = channel.map(mode, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt(0) != TabulatedFunctions.MAGIC) {
+                throw new IOException("Файл не содержит табулированную функцию");
+            }
+            int version = buffer.getInt(4);
+            int headerBytes = TabulatedFunctions.headerBytes(version);
+            if (headerBytes < 0 || size < headerBytes) {
+                throw new IOException("Неподдерживаемая версия формата: " + version);
+            }
+
+            int pointsCount = buffer.getInt(8);
+            boolean uniform = version >= 2 && (buffer.getInt(12) & TabulatedFunctions.FLAG_UNIFORM) != 0;
+            double leftX = version >= 2 ? buffer.getDouble(16) : 0;
+            double step = version >= 2 ? buffer.getDouble(24) : 0;
+
+            long blocks = uniform ? 1 : 2;
+            if (pointsCount < 2 || headerBytes + blocks * pointsCount * DOUBLE_BYTES != size) {
+                throw new IOException("Некорректное количество точек: " + pointsCount);
+            }
+            // Параметры сетки проверяются сразу, это не требует чтения точек
+            if (uniform && !(Double.isFinite(leftX) && step > 0 && Double.isFinite(step))) {
+                throw new IOException("Некорректные параметры равномерной сетки");
+            }
+
+            return new MappedTabulatedFunction(buffer, pointsCount, writable, headerBytes, uniform, leftX, step);
+        }
+    }
+
+    // Проверка, что X точек файла (в том числе вычисленные по сетке) строго возрастают.
+    // Читает все X за O(n), поэтому не выполняется при открытии; файлы из
+    // непроверенных источников нужно проверять перед использованием
+    public void validate() throws IOException {
+        double previous = getX(0);
+        for (int i = 1; i < pointsCount; i++) {
+            double x = getX(i);
+            if (!(x > previous)) {
+                throw new IOException("Нарушение порядка точек по X");
+            }
+            previous = x;
+        }
+    }
+
+    // Запись изменений на диск (для отображения с возможностью записи)
+    public void force() {
+        buffer.force();
+    }
+
+    private double getX(int i) {
+        if (uniform) {
+            return gridLeftX + i * gridStep;
+        }
+        return buffer.getDouble(xOffset + i * DOUBLE_BYTES);
+    }
+
+    private double getY(int i) {
+        return buffer.getDouble(yOffset + i * DOUBLE_BYTES);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
+            );
+        }
+    }
+
+    private void checkWritable() {
+        if (!writable) {
+            throw new UnsupportedOperationException("Функция отображена только для чтения");
+        }
+    }
+
+    // X можно менять, только если они хранятся в файле
+    private void checkWritableX() {
+        checkWritable();
+        if (uniform) {
+            throw new UnsupportedOperationException("X точек равномерной сетки не хранятся в файле");
+        }
+    }
+
+    // Реализация методов интерфейса
+    @Override
+    public double getLeftDomainBorder() {
+        return getX(0);
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return getX(pointsCount - 1);
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        // Бинарный поиск последней точки с X <= x
+        int low = 0;
+        int high = pointsCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (getX(mid) <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int i = Math.min(low, pointsCount - 2);
+
+        double leftX = getX(i);
+        double rightX = getX(i + 1);
+
+        // Сравнение с машинным эпсилоном
+        final double eps = 1e-10;
+        if (Math.abs(leftX - x) <= eps) return getY(i);
+        if (Math.abs(rightX - x) <= eps) return getY(i + 1);
+
+        // Линейная интерполяция
+        double leftY = getY(i);
+        return leftY + (getY(i + 1) - leftY) * (x - leftX) / (rightX - leftX);
+    }
+
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(getX(index), getY(index));
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        checkWritable();
+        checkIndex(index);
+        checkOrder(index, point.getX());
+        if (point.getX() != getX(index)) {
+            checkWritableX();
+            buffer.putDouble(xOffset + index * DOUBLE_BYTES, point.getX());
+        }
+        buffer.putDouble(yOffset + index * DOUBLE_BYTES, point.getY());
+    }
+
+    @Override
+    public double getPointX(int index) {
+        checkIndex(index);
+        return getX(index);
+    }
+
+    @Override
+    public void setPointX(int index, double x)
+            throws InappropriateFunctionPointException {
+
+        checkWritableX();
+        checkIndex(index);
+        checkOrder(index, x);
+        buffer.putDouble(xOffset + index * DOUBLE_BYTES, x);
+    }
+
+    // X точки должен лежать строго между X соседних точек
+    private void checkOrder(int index, double x)
+            throws InappropriateFunctionPointException {
+
+        if ((index > 0 && x <= getX(index - 1)) ||
+                (index < pointsCount - 1 && x >= getX(index + 1))) {
+            throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
+        }
+    }
+
+    @Override
+    public double getPointY(int index) {
+        checkIndex(index);
+        return getY(index);
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        checkWritable();
+        checkIndex(index);
+        buffer.putDouble(yOffset + index * DOUBLE_BYTES, y);
+    }
+
+    // Размер отображения фиксирован, поэтому количество точек не меняется
+    @Override
+    public void deletePoint(int index) {
+        throw new UnsupportedOperationException("Нельзя удалить точку из отображенного файла");
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) {
+        throw new UnsupportedOperationException("Нельзя добавить точку в отображенный файл");
+    }
+}
@@ -0,0 +1,437 @@
+package functions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.StampedLock;
+
+public class OffHeapTabulatedFunction implements TabulatedFunction, AutoCloseable {
+
+    private static final int DOUBLE_BYTES = 8;
+    // Наибольшая вместимость: размер каждого буфера не превышает Integer.MAX_VALUE байт,
+    // поэтому смещения i * DOUBLE_BYTES для i < вместимости не переполняют int
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE / DOUBLE_BYTES;
+
+    // Освобождение прямого буфера сразу, без ожидания сборщика мусора
+    // (sun.misc.Unsafe.invokeCleaner), null - метод недоступен
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    // Координаты хранятся вне кучи в двух буферах: X и Y.
+    // Сборщику мусора не нужно обходить точки - в куче остаются только объекты буферов
+    private static final class Storage {
+        final ByteBuffer xs;
+        final ByteBuffer ys;
+        final int capacity;
+
+        Storage(int capacity) {
+            long bytes = (long) capacity * DOUBLE_BYTES;
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Слишком много точек: " + capacity);
+            }
+            this.xs = ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+            this.ys = ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+            this.capacity = capacity;
+        }
+
+        double getX(int i) {
+            return xs.getDouble(i * DOUBLE_BYTES);
+        }
+
+        double getY(int i) {
+            return ys.getDouble(i * DOUBLE_BYTES);
+        }
+
+        void putX(int i, double x) {
+            xs.putDouble(i * DOUBLE_BYTES, x);
+        }
+
+        void putY(int i, double y) {
+            ys.putDouble(i * DOUBLE_BYTES, y);
+        }
+
+        // Копирование count точек с номера from на номер to (диапазоны могут перекрываться)
+        void move(Storage target, int from, int to, int count) {
+            int bytes = count * DOUBLE_BYTES;
+            target.xs.put(to * DOUBLE_BYTES, xs, from * DOUBLE_BYTES, bytes);
+            target.ys.put(to * DOUBLE_BYTES, ys, from * DOUBLE_BYTES, bytes);
+        }
+
+        void free() {
+            OffHeapTabulatedFunction.free(xs);
+            OffHeapTabulatedFunction.free(ys);
+        }
+    }
+
+    // Память функции, null - функция закрыта. Каждый метод читает поле один раз
+    private volatile Storage storage;
+    private int pointsCount;
+
+    // Поток-владелец для ограниченного режима, null - доступ из любых потоков
+    private final Thread owner;
+    // Блокировка общего режима: обращения идут под блокировкой чтения, изменения и
+    // закрытие - под блокировкой записи, поэтому память не освобождается во время обращения.
+    // В ограниченном режиме не нужна
+    private final StampedLock lock;
+
+    // Конструкторы
+    public OffHeapTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, pointsCount, false);
+    }
+
+    public OffHeapTabulatedFunction(double leftX, double rightX, int pointsCount, boolean confined) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не менее 2");
+        }
+        if (pointsCount > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Слишком много точек: " + pointsCount);
+        }
+
+        this.owner = confined ? Thread.currentThread() : null;
+        this.lock = confined ? null : new StampedLock();
+        this.pointsCount = pointsCount;
+
+        // Память прямого буфера заполнена нулями, Y задавать не нужно
+        Storage s = new Storage((int) Math.min(pointsCount + 10L, MAX_CAPACITY));
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            s.putX(i, leftX + i * step);
+        }
+        storage = s;
+    }
+
+    public OffHeapTabulatedFunction(double leftX, double rightX, double[] values) {
+        this(leftX, rightX, values, false);
+    }
+
+    public OffHeapTabulatedFunction(double leftX, double rightX, double[] values, boolean confined) {
+        this(leftX, rightX, values.length, confined);
+        storage.ys.asDoubleBuffer().put(values);
+    }
+
+    // Работа с памятью
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Освобождение памяти буфера; без invokeCleaner ее освободит сборщик мусора
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Перенос точек в новую память, старая освобождается сразу
+    private Storage grow(Storage s) {
+        if (s.capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Достигнута наибольшая вместимость: " + MAX_CAPACITY);
+        }
+        Storage grown = new Storage((int) Math.min(2L * s.capacity, MAX_CAPACITY));
+        s.move(grown, 0, 0, pointsCount);
+        storage = grown;
+        s.free();
+        return grown;
+    }
+
+    // Начало обращения: проверка потока и, в общем режиме, блокировка
+    private long beginRead() {
+        if (lock == null) {
+            checkOwner();
+            return 0;
+        }
+        return lock.readLock();
+    }
+
+    private long beginWrite() {
+        if (lock == null) {
+            checkOwner();
+            return 0;
+        }
+        return lock.writeLock();
+    }
+
+    private void end(long stamp) {
+        if (lock != null) {
+            lock.unlock(stamp);
+        }
+    }
+
+    private void checkOwner() {
+        if (owner != Thread.currentThread()) {
+            throw new IllegalStateException("Обращение к функции из чужого потока");
+        }
+    }
+
+    // Память открытой функции
+    private Storage open() {
+        Storage s = storage;
+        if (s == null) {
+            throw new IllegalStateException("Функция закрыта");
+        }
+        return s;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
+            );
+        }
+    }
+
+    // Освобождение памяти сразу при вызове. Повторное закрытие ничего не делает,
+    // после закрытия любое обращение к функции выбрасывает IllegalStateException
+    @Override
+    public void close() {
+        long stamp = beginWrite();
+        try {
+            Storage s = storage;
+            if (s != null) {
+                storage = null;
+                s.free();
+            }
+        } finally {
+            end(stamp);
+        }
+    }
+
+    public boolean isClosed() {
+        return storage == null;
+    }
+
+    // Реализация методов интерфейса
+    @Override
+    public double getLeftDomainBorder() {
+        long stamp = beginRead();
+        try {
+            return open().getX(0);
+        } finally {
+            end(stamp);
+        }
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        long stamp = beginRead();
+        try {
+            return open().getX(pointsCount - 1);
+        } finally {
+            end(stamp);
+        }
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        long stamp = beginRead();
+        try {
+            Storage s = open();
+            if (x < s.getX(0) || x > s.getX(pointsCount - 1)) {
+                return Double.NaN;
+            }
+
+            // Бинарный поиск последней точки с X <= x
+            int low = 0;
+            int high = pointsCount - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (s.getX(mid) <= x) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            int i = Math.min(low, pointsCount - 2);
+
+            double leftX = s.getX(i);
+            double rightX = s.getX(i + 1);
+
+            // Сравнение с машинным эпсилоном
+            final double eps = 1e-10;
+            if (Math.abs(leftX - x) <= eps) return s.getY(i);
+            if (Math.abs(rightX - x) <= eps) return s.getY(i + 1);
+
+            // Линейная интерполяция
+            double leftY = s.getY(i);
+            return leftY + (s.getY(i + 1) - leftY) * (x - leftX) / (rightX - leftX);
+        } finally {
+            end(stamp);
+        }
+    }
+
+    @Override
+    public int getPointsCount() {
+        long stamp = beginRead();
+        try {
+            open();
+            return pointsCount;
+        } finally {
+            end(stamp);
+        }
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        long stamp = beginRead();
+        try {
+            Storage s = open();
+            checkIndex(index);
+            return new FunctionPoint(s.getX(index), s.getY(index));
+        } finally {
+            end(stamp);
+        }
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        long stamp = beginWrite();
+        try {
+            Storage s = open();
+            checkIndex(index);
+            checkOrder(s, index, point.getX());
+            s.putX(index, point.getX());
+            s.putY(index, point.getY());
+        } finally {
+            end(stamp);
+        }
+    }
+
+    @Override
+    public double getPointX(int index) {
+        long stamp = beginRead();
+        try {
+            Storage s = open();
+            checkIndex(index);
+            return s.getX(index);
+        } finally {
+            end(stamp);
+        }
+    }
+
+    @Override
+    public void setPointX(int index, double x)
+            throws InappropriateFunctionPointException {
+
+        long stamp = beginWrite();
+        try {
+            Storage s = open();
+            checkIndex(index);
+            checkOrder(s, index, x);
+            s.putX(index, x);
+        } finally {
+            end(stamp);
+        }
+    }
+
+    // X точки должен лежать строго между X соседних точек
+    private void checkOrder(Storage s, int index, double x)
+            throws InappropriateFunctionPointException {
+
+        if ((index > 0 && x <= s.getX(index - 1)) ||
+                (index < pointsCount - 1 && x >= s.getX(index + 1))) {
+            throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
+        }
+    }
+
+    @Override
+    public double getPointY(int index) {
+        long stamp = beginRead();
+        try {
+            Storage s = open();
+            checkIndex(index);
+            return s.getY(index);
+        } finally {
+            end(stamp);
+        }
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        long stamp = beginWrite();
+        try {
+            Storage s = open();
+            checkIndex(index);
+            s.putY(index, y);
+        } finally {
+            end(stamp);
+        }
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        long stamp = beginWrite();
+        try {
+            Storage s = open();
+            if (pointsCount < 3) {
+                throw new IllegalStateException("Нельзя удалить точку: останется меньше 2 точек");
+            }
+            checkIndex(index);
+
+            s.move(s, index + 1, index, pointsCount - index - 1);
+            pointsCount--;
+        } finally {
+            end(stamp);
+        }
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        long stamp = beginWrite();
+        try {
+            Storage s = open();
+            double x = point.getX();
+
+            // Бинарный поиск позиции вставки
+            int low = 0;
+            int high = pointsCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (s.getX(mid) < x) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            if ((low > 0 && Math.abs(s.getX(low - 1) - x) < 1e-10) ||
+                    (low < pointsCount && Math.abs(s.getX(low) - x) < 1e-10)) {
+                throw new InappropriateFunctionPointException("Точка с таким X уже существует");
+            }
+
+            if (pointsCount == s.capacity) {
+                s = grow(s);
+            }
+
+            s.move(s, low, low + 1, pointsCount - low);
+            s.putX(low, x);
+            s.putY(low, point.getY());
+            pointsCount++;
+        } finally {
+            end(stamp);
+        }
+    }
+}
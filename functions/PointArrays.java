@@ -0,0 +1,147 @@
+package functions;
+
+// Вспомогательные операции над наборами точек, заданными параллельными массивами
+final class PointArrays {
+
+    private PointArrays() {
+    }
+
+    // Копии координат набора точек
+    static double[][] copyOf(FunctionPoint[] points) {
+        double[] xs = new double[points.length];
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = points[i].getX();
+            ys[i] = points[i].getY();
+        }
+        return new double[][] {xs, ys};
+    }
+
+    static double[][] copyOf(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Массивы X и Y должны иметь одинаковую длину");
+        }
+        double[] xsCopy = new double[xs.length];
+        double[] ysCopy = new double[ys.length];
+        System.arraycopy(xs, 0, xsCopy, 0, xs.length);
+        System.arraycopy(ys, 0, ysCopy, 0, ys.length);
+        return new double[][] {xsCopy, ysCopy};
+    }
+
+    // Сортировка точек по X (пирамидальная, без дополнительной памяти).
+    // Уже упорядоченный набор определяется за один проход и не сортируется
+    static void sortByX(double[] xs, double[] ys) {
+        int n = xs.length;
+        boolean sorted = true;
+        for (int i = 1; i < n && sorted; i++) {
+            sorted = xs[i - 1] <= xs[i];
+        }
+        if (sorted) {
+            return;
+        }
+
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(xs, ys, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(xs, ys, 0, end);
+            siftDown(xs, ys, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] xs, double[] ys, int i, int n) {
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < n && xs[left] > xs[largest]) largest = left;
+            if (right < n && xs[right] > xs[largest]) largest = right;
+            if (largest == i) {
+                return;
+            }
+            swap(xs, ys, i, largest);
+            i = largest;
+        }
+    }
+
+    private static void swap(double[] xs, double[] ys, int i, int j) {
+        double x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+        double y = ys[i];
+        ys[i] = ys[j];
+        ys[j] = y;
+    }
+
+    // Проверка диапазона номеров [fromIndex, toIndex)
+    static void checkRange(int fromIndex, int toIndex, int pointsCount) {
+        if (fromIndex < 0 || toIndex > pointsCount || fromIndex > toIndex) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Диапазон [" + fromIndex + ", " + toIndex + ") вне границ [0, " + pointsCount + "]"
+            );
+        }
+    }
+
+    // Проверка, что после удаления диапазона останется не менее 2 точек
+    static void checkRemaining(int remaining) {
+        if (remaining < 2) {
+            throw new IllegalStateException("Нельзя удалить точки: останется меньше 2 точек");
+        }
+    }
+
+    // Проверка упорядоченного набора, заменяющего точки [fromIndex, toIndex):
+    // все X должны лежать строго между X соседних с диапазоном точек и не совпадать с ними
+    static void checkReplacement(TabulatedFunction function, int fromIndex, int toIndex, double[] xs)
+            throws InappropriateFunctionPointException {
+
+        if (xs.length == 0) {
+            return;
+        }
+        checkDistinct(xs);
+
+        double first = xs[0];
+        double last = xs[xs.length - 1];
+        if (fromIndex > 0) {
+            double left = function.getPointX(fromIndex - 1);
+            if (first <= left) {
+                throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
+            }
+            if (first - left < 1e-10) {
+                throw new InappropriateFunctionPointException("Точка с таким X уже существует");
+            }
+        }
+        if (toIndex < function.getPointsCount()) {
+            double right = function.getPointX(toIndex);
+            if (last >= right) {
+                throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
+            }
+            if (right - last < 1e-10) {
+                throw new InappropriateFunctionPointException("Точка с таким X уже существует");
+            }
+        }
+    }
+
+    // Проверка, что в упорядоченном наборе нет точек с совпадающими X
+    static void checkDistinct(double[] xs) throws InappropriateFunctionPointException {
+        for (int i = 1; i < xs.length; i++) {
+            if (Math.abs(xs[i] - xs[i - 1]) < 1e-10) {
+                throw new InappropriateFunctionPointException("Точка с таким X уже существует");
+            }
+        }
+    }
+
+    // Проверка, что упорядоченный набор не содержит X, совпадающих с X функции.
+    // Точки функции просматриваются по порядку, всего за O(n + m)
+    static void checkDistinct(TabulatedFunction function, double[] xs)
+            throws InappropriateFunctionPointException {
+
+        PointCursor cursor = function.cursor();
+        boolean valid = cursor.next();
+        for (double x : xs) {
+            while (valid && cursor.getX() <= x - 1e-10) valid = cursor.next();
+            if (valid && Math.abs(cursor.getX() - x) < 1e-10) {
+                throw new InappropriateFunctionPointException("Точка с таким X уже существует");
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package functions;
+
+// Курсор для последовательного обхода точек функции в обоих направлениях.
+// Курсор стоит либо на точке, либо перед первой, либо после последней точки.
+// После изменения набора точек курсор нужно заново позиционировать
+public interface PointCursor {
+    // Переход к следующей точке, false - курсор вышел за последнюю точку
+    boolean next();
+
+    // Переход к предыдущей точке, false - курсор вышел за первую точку
+    boolean previous();
+
+    // Позиционирование на точку с указанным номером
+    void moveTo(int index);
+
+    // Позиционирование перед первой точкой (для повторного обхода)
+    void beforeFirst();
+
+    // Позиционирование после последней точки (для обхода в обратном порядке)
+    void afterLast();
+
+    int getIndex();
+    double getX();
+    double getY();
+}
@@ -0,0 +1,6 @@
+package functions;
+
+// Обработчик точек при обходе функции методом forEachPoint
+public interface PointVisitor {
+    void visit(int index, double x, double y);
+}
@@ -0,0 +1,405 @@
+package functions;
+
+public class SkipListTabulatedFunction implements TabulatedFunction {
+
+    private static final int MAX_LEVEL = 32;
+
+    // Класс для узла списка с пропусками
+    private static class SkipNode {
+        public double x;
+        public double y;
+        public SkipNode prev;
+        // Ссылки на следующий узел на каждом уровне и длины переходов (в точках)
+        public final SkipNode[] next;
+        public final int[] span;
+
+        public SkipNode(double x, double y, int level) {
+            this.x = x;
+            this.y = y;
+            this.next = new SkipNode[level];
+            this.span = new int[level];
+        }
+    }
+
+    // Курсор, переходящий между соседними узлами нижнего уровня за O(1)
+    private class NodeCursor implements PointCursor {
+        private SkipNode node;
+        private int index = -1;
+
+        @Override
+        public boolean next() {
+            if (index < pointsCount) {
+                node = (index < 0) ? head.next[0] : node.next[0];
+                index++;
+            }
+            return index < pointsCount;
+        }
+
+        @Override
+        public boolean previous() {
+            if (index >= 0) {
+                node = (index == pointsCount) ? tail : node.prev;
+                index--;
+            }
+            return index >= 0;
+        }
+
+        @Override
+        public void moveTo(int index) {
+            node = getNodeByIndex(index);
+            this.index = index;
+        }
+
+        @Override
+        public void beforeFirst() {
+            node = null;
+            index = -1;
+        }
+
+        @Override
+        public void afterLast() {
+            node = null;
+            index = pointsCount;
+        }
+
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public double getX() {
+            checkPosition();
+            return node.x;
+        }
+
+        @Override
+        public double getY() {
+            checkPosition();
+            return node.y;
+        }
+
+        private void checkPosition() {
+            if (index < 0 || index >= pointsCount) {
+                throw new FunctionPointIndexOutOfBoundsException("Курсор не указывает на точку");
+            }
+        }
+    }
+
+    private final SkipNode head;
+    private SkipNode tail;
+    private int level;
+    private int pointsCount;
+    private long seed;
+
+    // Рабочие массивы для вставки и удаления
+    private final SkipNode[] update = new SkipNode[MAX_LEVEL];
+    private final int[] rank = new int[MAX_LEVEL];
+
+    // Конструкторы
+    public SkipListTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не менее 2");
+        }
+
+        // Голова не хранит данных и присутствует на всех уровнях
+        head = new SkipNode(Double.NEGATIVE_INFINITY, 0, MAX_LEVEL);
+        level = 1;
+        seed = System.nanoTime() | 1;
+
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            insertNode(leftX + i * step, 0);
+        }
+    }
+
+    public SkipListTabulatedFunction(double leftX, double rightX, double[] values) {
+        this(leftX, rightX, values.length);
+
+        // Устанавливаем значения Y
+        SkipNode current = head.next[0];
+        for (int i = 0; i < values.length; i++) {
+            current.y = values[i];
+            current = current.next[0];
+        }
+    }
+
+    // Методы работы со списком
+    private int randomLevel() {
+        // xorshift, вероятность перехода на следующий уровень 1/4
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        int nodeLevel = 1;
+        long bits = seed;
+        while (nodeLevel < MAX_LEVEL && (bits & 3) == 0) {
+            nodeLevel++;
+            bits >>>= 2;
+        }
+        return nodeLevel;
+    }
+
+    // Поиск узла по номеру за O(log n)
+    private SkipNode getNodeByIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
+            );
+        }
+
+        // Ранг головы равен 0, ранг точки с номером index равен index + 1
+        int target = index + 1;
+        int traversed = 0;
+        SkipNode current = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (current.next[i] != null && traversed + current.span[i] <= target) {
+                traversed += current.span[i];
+                current = current.next[i];
+            }
+            if (traversed == target) {
+                return current;
+            }
+        }
+        return current;
+    }
+
+    // Последний узел с X <= x (голова, если таких нет)
+    private SkipNode findFloor(double x) {
+        SkipNode current = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (current.next[i] != null && current.next[i].x <= x) {
+                current = current.next[i];
+            }
+        }
+        return current;
+    }
+
+    // Вставка узла в позицию по X, дубликаты проверяются вызывающим методом
+    private void insertNode(double x, double y) {
+        SkipNode current = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = (i == level - 1) ? 0 : rank[i + 1];
+            while (current.next[i] != null && current.next[i].x < x) {
+                rank[i] += current.span[i];
+                current = current.next[i];
+            }
+            update[i] = current;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = pointsCount;
+            }
+            level = nodeLevel;
+        }
+
+        SkipNode newNode = new SkipNode(x, y, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            newNode.next[i] = update[i].next[i];
+            update[i].next[i] = newNode;
+            newNode.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+
+        newNode.prev = (update[0] == head) ? null : update[0];
+        if (newNode.next[0] != null) {
+            newNode.next[0].prev = newNode;
+        } else {
+            tail = newNode;
+        }
+        pointsCount++;
+    }
+
+    private void deleteNodeByIndex(int index) {
+        if (pointsCount < 3) {
+            throw new IllegalStateException("Нельзя удалить точку: останется меньше 2 точек");
+        }
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
+            );
+        }
+
+        // Поиск предшественников удаляемого узла на каждом уровне
+        int target = index + 1;
+        int traversed = 0;
+        SkipNode current = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (current.next[i] != null && traversed + current.span[i] < target) {
+                traversed += current.span[i];
+                current = current.next[i];
+            }
+            update[i] = current;
+        }
+
+        SkipNode nodeToDelete = update[0].next[0];
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == nodeToDelete) {
+                update[i].span[i] += nodeToDelete.span[i] - 1;
+                update[i].next[i] = nodeToDelete.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+
+        if (nodeToDelete.next[0] != null) {
+            nodeToDelete.next[0].prev = nodeToDelete.prev;
+        } else {
+            tail = nodeToDelete.prev;
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        pointsCount--;
+    }
+
+    // Реализация методов интерфейса
+    @Override
+    public double getLeftDomainBorder() {
+        return head.next[0].x;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return tail.x;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        // Левая точка отрезка, содержащего x
+        SkipNode left = findFloor(x);
+        if (left == tail) {
+            left = tail.prev;
+        }
+        SkipNode right = left.next[0];
+
+        // Сравнение с машинным эпсилоном
+        final double eps = 1e-10;
+        if (Math.abs(left.x - x) <= eps) return left.y;
+        if (Math.abs(right.x - x) <= eps) return right.y;
+
+        // Линейная интерполяция
+        return left.y + (right.y - left.y) * (x - left.x) / (right.x - left.x);
+    }
+
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        SkipNode node = getNodeByIndex(index);
+        return new FunctionPoint(node.x, node.y);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        SkipNode node = getNodeByIndex(index);
+        checkOrder(node, point.getX());
+        node.x = point.getX();
+        node.y = point.getY();
+    }
+
+    @Override
+    public double getPointX(int index) {
+        return getNodeByIndex(index).x;
+    }
+
+    @Override
+    public void setPointX(int index, double x)
+            throws InappropriateFunctionPointException {
+
+        SkipNode node = getNodeByIndex(index);
+        checkOrder(node, x);
+        node.x = x;
+    }
+
+    // X точки должен лежать строго между X соседних точек
+    private void checkOrder(SkipNode node, double x)
+            throws InappropriateFunctionPointException {
+
+        if ((node.prev != null && x <= node.prev.x) ||
+                (node.next[0] != null && x >= node.next[0].x)) {
+            throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
+        }
+    }
+
+    @Override
+    public double getPointY(int index) {
+        return getNodeByIndex(index).y;
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        getNodeByIndex(index).y = y;
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        deleteNodeByIndex(index);
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        double x = point.getX();
+
+        // Проверяем существование точки с таким X среди соседей по позиции
+        SkipNode floor = findFloor(x);
+        if ((floor != head && Math.abs(floor.x - x) < 1e-10) ||
+                (floor.next[0] != null && Math.abs(floor.next[0].x - x) < 1e-10)) {
+            throw new InappropriateFunctionPointException("Точка с таким X уже существует");
+        }
+
+        insertNode(x, point.getY());
+    }
+
+    @Override
+    public void forEachPoint(PointVisitor visitor) {
+        SkipNode current = head.next[0];
+        for (int i = 0; i < pointsCount; i++) {
+            visitor.visit(i, current.x, current.y);
+            current = current.next[0];
+        }
+    }
+
+    @Override
+    public PointCursor cursor() {
+        return new NodeCursor();
+    }
+
+    // Доступ по номеру стоит O(log n), поэтому поиск от предыдущего отрезка
+    // не быстрее обычного поиска по уровням
+    @Override
+    public Evaluator evaluator() {
+        return this::getFunctionValue;
+    }
+
+    // Для теста
+    public void printPoints() {
+        System.out.println("Список с пропусками (всего " + pointsCount + ", уровней " + level + "):");
+        SkipNode current = head.next[0];
+        int i = 0;
+        while (current != null) {
+            System.out.printf("[%d]: [%.2f; %.2f]\n", i++, current.x, current.y);
+            current = current.next[0];
+        }
+    }
+}
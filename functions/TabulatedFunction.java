@@ -1,11 +1,34 @@
 package functions;
 
+import java.util.Spliterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public interface TabulatedFunction {
     // Основные методы
     double getLeftDomainBorder();
     double getRightDomainBorder();
     double getFunctionValue(double x);
 
+    // Пакетное вычисление значений функции в массиве точек
+    default void getFunctionValues(double[] arguments, double[] values) {
+        getFunctionValues(arguments, 0, values, 0, arguments.length);
+    }
+
+    default void getFunctionValues(double[] arguments, int argumentsOffset,
+                                   double[] values, int valuesOffset, int length) {
+        checkBatchRange(arguments, argumentsOffset, values, valuesOffset, length);
+        for (int i = 0; i < length; i++) {
+            values[valuesOffset + i] = getFunctionValue(arguments[argumentsOffset + i]);
+        }
+    }
+
+    // Вычислитель для последовательности близких аргументов (см. Evaluator)
+    default Evaluator evaluator() {
+        return new IndexEvaluator(this);
+    }
+
     // Методы работы с точками
     int getPointsCount();
     FunctionPoint getPoint(int index);
@@ -16,4 +39,116 @@ public interface TabulatedFunction {
     void setPointY(int index, double y);
     void deletePoint(int index);
     void addPoint(FunctionPoint point) throws InappropriateFunctionPointException;
+
+    // Добавление набора точек. Набор упорядочивается по X, затем проверяется
+    // на совпадение X внутри набора и с точками функции; при ошибке функция не изменяется
+    default void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        double[][] batch = PointArrays.copyOf(points);
+        addPoints(batch[0], batch[1]);
+    }
+
+    default void addPoints(double[] pointsX, double[] pointsY) throws InappropriateFunctionPointException {
+        double[][] batch = PointArrays.copyOf(pointsX, pointsY);
+        PointArrays.sortByX(batch[0], batch[1]);
+        PointArrays.checkDistinct(batch[0]);
+        PointArrays.checkDistinct(this, batch[0]);
+
+        for (int i = 0; i < batch[0].length; i++) {
+            addPoint(new FunctionPoint(batch[0][i], batch[1][i]));
+        }
+    }
+
+    // Обход точек без создания объектов FunctionPoint
+    default void forEachPoint(PointVisitor visitor) {
+        int count = getPointsCount();
+        for (int i = 0; i < count; i++) {
+            visitor.visit(i, getPointX(i), getPointY(i));
+        }
+    }
+
+    default PointCursor cursor() {
+        return new IndexPointCursor(this);
+    }
+
+    // Разделители и потоки точек, X и Y. Потоки последовательные, для параллельной
+    // обработки вызывается parallel(). Функцию нельзя изменять до завершения обхода
+    default Spliterator<FunctionPoint> spliterator() {
+        return new IndexPointSpliterators.Points(this, 0, getPointsCount());
+    }
+
+    default Spliterator.OfDouble xSpliterator() {
+        return new IndexPointSpliterators.Values(this, 0, getPointsCount(), true);
+    }
+
+    default Spliterator.OfDouble ySpliterator() {
+        return new IndexPointSpliterators.Values(this, 0, getPointsCount(), false);
+    }
+
+    default Stream<FunctionPoint> points() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default DoubleStream xValues() {
+        return StreamSupport.doubleStream(xSpliterator(), false);
+    }
+
+    default DoubleStream yValues() {
+        return StreamSupport.doubleStream(ySpliterator(), false);
+    }
+
+    // Удаление точек с номерами [fromIndex, toIndex)
+    default void deletePoints(int fromIndex, int toIndex) {
+        PointArrays.checkRange(fromIndex, toIndex, getPointsCount());
+        PointArrays.checkRemaining(getPointsCount() - (toIndex - fromIndex));
+
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            deletePoint(i);
+        }
+    }
+
+    // Замена точек с номерами [fromIndex, toIndex) набором точек. Набор упорядочивается
+    // по X и должен лежать строго между соседними с диапазоном точками
+    default void replaceRange(int fromIndex, int toIndex, double[] pointsX, double[] pointsY)
+            throws InappropriateFunctionPointException {
+
+        int count = getPointsCount();
+        PointArrays.checkRange(fromIndex, toIndex, count);
+        double[][] batch = PointArrays.copyOf(pointsX, pointsY);
+        double[] batchX = batch[0];
+        double[] batchY = batch[1];
+        PointArrays.sortByX(batchX, batchY);
+        PointArrays.checkReplacement(this, fromIndex, toIndex, batchX);
+
+        int remaining = count - (toIndex - fromIndex);
+        PointArrays.checkRemaining(remaining + batchX.length);
+
+        // Если без заменяемых точек функция станет некорректной,
+        // часть старых точек сохраняется и переставляется на место новых
+        int keep = Math.max(0, 2 - remaining);
+        deletePoints(fromIndex + keep, toIndex);
+        if (keep == 2 && batchX[0] >= getPointX(fromIndex + 1)) {
+            setPoint(fromIndex + 1, new FunctionPoint(batchX[1], batchY[1]));
+            setPoint(fromIndex, new FunctionPoint(batchX[0], batchY[0]));
+        } else {
+            for (int i = 0; i < keep; i++) {
+                setPoint(fromIndex + i, new FunctionPoint(batchX[i], batchY[i]));
+            }
+        }
+
+        int rest = batchX.length - keep;
+        double[] restX = new double[rest];
+        double[] restY = new double[rest];
+        System.arraycopy(batchX, keep, restX, 0, rest);
+        System.arraycopy(batchY, keep, restY, 0, rest);
+        addPoints(restX, restY);
+    }
+
+    // Проверка границ для пакетных методов
+    static void checkBatchRange(double[] arguments, int argumentsOffset,
+                                double[] values, int valuesOffset, int length) {
+        if (length < 0 || argumentsOffset < 0 || valuesOffset < 0 ||
+                argumentsOffset > arguments.length - length || valuesOffset > values.length - length) {
+            throw new IllegalArgumentException("Диапазон выходит за границы массивов");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,407 @@
+package functions;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.DoubleUnaryOperator;
+
+public final class TabulatedFunctions {
+
+    // Двоичный формат (little-endian):
+    //   int    магическое число "TABF"
+    //   int    версия формата
+    //   int    количество точек
+    //   int    флаги (бит 0 - равномерная сетка)
+    //   double левая граница сетки  } только в версии 2
+    //   double шаг сетки            }
+    // затем блок X (отсутствует для равномерной сетки) и блок Y.
+    // Версия 1 - заголовок из первых 16 байт без сведений о сетке.
+    static final int MAGIC = 0x46424154;
+    static final int VERSION = 2;
+    static final int FLAG_UNIFORM = 1;
+    static final int HEADER_BYTES_V1 = 16;
+    static final int HEADER_BYTES = 32;
+
+    private static final int DOUBLE_BYTES = 8;
+    private static final int BUFFER_BYTES = 8192;
+
+    private TabulatedFunctions() {
+    }
+
+    // Размер заголовка для указанной версии, -1 для неизвестной версии
+    static int headerBytes(int version) {
+        if (version == 1) return HEADER_BYTES_V1;
+        if (version == VERSION) return HEADER_BYTES;
+        return -1;
+    }
+
+    // Запись функции в канал фиксированными порциями, без создания объектов точек
+    public static void writeTabulatedFunction(TabulatedFunction function, WritableByteChannel channel)
+            throws IOException {
+
+        int count = function.getPointsCount();
+        double leftX = function.getPointX(0);
+
+        // Сетка считается равномерной, только если X восстанавливаются по ней точно.
+        // Сначала проверяется шаг, по которому реализация строила X: шаг, заново
+        // вычисленный по крайним точкам, может отличаться от него на единицу младшего разряда
+        PointCursor cursor = function.cursor();
+        double step = knownGridStep(function);
+        boolean uniform = !Double.isNaN(step) && isGrid(cursor, leftX, step);
+        if (!uniform) {
+            step = (function.getPointX(count - 1) - leftX) / (count - 1);
+            uniform = isGrid(cursor, leftX, step);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(uniform ? FLAG_UNIFORM : 0);
+        buffer.putDouble(uniform ? leftX : 0).putDouble(uniform ? step : 0);
+
+        if (!uniform) {
+            cursor.beforeFirst();
+            while (cursor.next()) {
+                if (buffer.remaining() < DOUBLE_BYTES) {
+                    flush(buffer, channel);
+                }
+                buffer.putDouble(cursor.getX());
+            }
+        }
+        cursor.beforeFirst();
+        while (cursor.next()) {
+            if (buffer.remaining() < DOUBLE_BYTES) {
+                flush(buffer, channel);
+            }
+            buffer.putDouble(cursor.getY());
+        }
+        flush(buffer, channel);
+    }
+
+    // Шаг сетки, известный реализации, NaN - неизвестен
+    private static double knownGridStep(TabulatedFunction function) {
+        if (function instanceof ArrayTabulatedFunction) {
+            return ((ArrayTabulatedFunction) function).gridStep();
+        }
+        if (function instanceof UniformTabulatedFunction) {
+            return ((UniformTabulatedFunction) function).gridStep();
+        }
+        return Double.NaN;
+    }
+
+    // Совпадают ли все X точно с узлами сетки
+    private static boolean isGrid(PointCursor cursor, double leftX, double step) {
+        cursor.beforeFirst();
+        while (cursor.next()) {
+            if (cursor.getX() != leftX + cursor.getIndex() * step) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static void writeTabulatedFunction(TabulatedFunction function, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeTabulatedFunction(function, channel);
+        }
+    }
+
+    // Чтение функции из канала, результат - ArrayTabulatedFunction
+    public static ArrayTabulatedFunction readTabulatedFunction(ReadableByteChannel channel)
+            throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.limit(0);
+
+        fill(buffer, channel, HEADER_BYTES_V1);
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Поток не содержит табулированную функцию");
+        }
+        int version = buffer.getInt();
+        if (headerBytes(version) < 0) {
+            throw new IOException("Неподдерживаемая версия формата: " + version);
+        }
+        int count = buffer.getInt();
+        int flags = buffer.getInt();
+        if (count < 2) {
+            throw new IOException("Некорректное количество точек: " + count);
+        }
+
+        boolean uniform = false;
+        double leftX = 0;
+        double step = 0;
+        if (version >= 2) {
+            fill(buffer, channel, 2 * DOUBLE_BYTES);
+            leftX = buffer.getDouble();
+            step = buffer.getDouble();
+            uniform = (flags & FLAG_UNIFORM) != 0;
+        }
+
+        // Количество точек из заголовка сверяется с длиной канала, если она известна;
+        // иначе массивы растут по мере чтения, и испорченный заголовок не приводит
+        // к выделению памяти больше, чем действительно прочитано
+        long required = (uniform ? 1L : 2L) * count * DOUBLE_BYTES;
+        boolean sized = false;
+        if (channel instanceof SeekableByteChannel) {
+            SeekableByteChannel seekable = (SeekableByteChannel) channel;
+            if (seekable.size() - seekable.position() + buffer.remaining() < required) {
+                throw new IOException("Некорректное количество точек: " + count);
+            }
+            sized = true;
+        }
+
+        double[] xs;
+        double[] ys;
+        if (uniform) {
+            ys = readDoubles(buffer, channel, count, sized);
+            xs = new double[count];
+            for (int i = 0; i < count; i++) {
+                xs[i] = leftX + i * step;
+            }
+        } else {
+            xs = readDoubles(buffer, channel, count, sized);
+            ys = readDoubles(buffer, channel, count, sized);
+        }
+
+        for (int i = 1; i < count; i++) {
+            if (!(xs[i] > xs[i - 1])) {
+                throw new IOException("Нарушение порядка точек по X");
+            }
+        }
+        return new ArrayTabulatedFunction(xs, ys, count);
+    }
+
+    public static ArrayTabulatedFunction readTabulatedFunction(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readTabulatedFunction(channel);
+        }
+    }
+
+    // Наибольшее количество точек адаптивного табулирования по умолчанию
+    public static final int DEFAULT_MAX_ADAPTIVE_POINTS = 1 << 20;
+
+    // Адаптивное табулирование: отрезок делится пополам, пока линейная интерполяция
+    // по его концам отличается от функции в пробных точках больше, чем на
+    // absoluteError + relativeError * |f(x)|. Пробные точки - середина отрезка и две
+    // точки на долях, не кратных степеням двойки, чтобы периодические функции
+    // не совпадали с хордой во всех пробах. Глубина деления ограничена; отрезки,
+    // на которых функция не конечна, не уточняются
+    public static ArrayTabulatedFunction tabulateAdaptive(DoubleUnaryOperator function, double leftX, double rightX,
+                                                          double absoluteError, double relativeError) {
+        return tabulateAdaptive(function, leftX, rightX, absoluteError, relativeError, DEFAULT_MAX_ADAPTIVE_POINTS);
+    }
+
+    // То же с ограничением количества точек результата. Для зашумленной или разрывной
+    // функции погрешность может быть недостижима; когда точки исчерпаны, оставшиеся
+    // отрезки (правее уже уточненных) больше не делятся
+    public static ArrayTabulatedFunction tabulateAdaptive(DoubleUnaryOperator function, double leftX, double rightX,
+                                                          double absoluteError, double relativeError, int maxPoints) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой");
+        }
+        if (!(absoluteError >= 0) || !(relativeError >= 0) || absoluteError + relativeError == 0) {
+            throw new IllegalArgumentException("Допустимая погрешность должна быть положительной");
+        }
+        if (maxPoints < 2) {
+            throw new IllegalArgumentException("Наибольшее количество точек должно быть не менее 2");
+        }
+
+        AdaptiveTabulation tabulation = new AdaptiveTabulation(function, absoluteError, relativeError, maxPoints);
+        double leftY = function.applyAsDouble(leftX);
+        double rightY = function.applyAsDouble(rightX);
+        tabulation.add(leftX, leftY);
+        tabulation.refine(leftX, leftY, rightX, rightY, function.applyAsDouble((leftX + rightX) / 2), 0);
+        return new ArrayTabulatedFunction(tabulation.xs, tabulation.ys, tabulation.count);
+    }
+
+    // Упрощение функции алгоритмом Рамера - Дугласа - Пекера: из точек исходной функции
+    // оставляются те, без которых ломаная отклонилась бы по вертикали больше чем на maxError.
+    // Обе ломаные кусочно-линейны, поэтому отклонение достаточно проверять в исходных точках.
+    // Точки читаются одним обходом forEachPoint, исходная функция не изменяется.
+    // Если самая удаленная точка лежит ближе четверти отрезка к его концу, отрезок делится
+    // посередине: каждая часть не длиннее 3/4 отрезка, глубина деления O(log n), и время
+    // работы O(n log n) в худшем случае. Точки отбрасываются, только когда весь отрезок
+    // укладывается в погрешность, поэтому точность не страдает; точек может остаться
+    // немного больше, чем в классическом алгоритме
+    public static ArrayTabulatedFunction simplify(TabulatedFunction function, double maxError) {
+        if (!(maxError >= 0)) {
+            throw new IllegalArgumentException("Допустимая погрешность не может быть отрицательной");
+        }
+
+        int count = function.getPointsCount();
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        function.forEachPoint((i, x, y) -> {
+            xs[i] = x;
+            ys[i] = y;
+        });
+
+        boolean[] keep = new boolean[count];
+        keep[0] = true;
+        keep[count - 1] = true;
+
+        // Стек отрезков (пары номеров концов), ожидающих проверки
+        int[] stack = new int[2 * count];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = count - 1;
+        while (top > 0) {
+            int last = stack[--top];
+            int first = stack[--top];
+
+            int worst = -1;
+            double worstDeviation = maxError;
+            double slope = (ys[last] - ys[first]) / (xs[last] - xs[first]);
+            for (int k = first + 1; k < last; k++) {
+                double deviation = Math.abs(ys[k] - (ys[first] + slope * (xs[k] - xs[first])));
+                // Неконечные значения не аппроксимируются хордой, такие точки сохраняются
+                if (Double.isNaN(deviation)) {
+                    deviation = Double.POSITIVE_INFINITY;
+                }
+                if (deviation > worstDeviation) {
+                    worstDeviation = deviation;
+                    worst = k;
+                }
+            }
+
+            if (worst >= 0) {
+                int quarter = (last - first) / 4;
+                if (worst - first < quarter || last - worst < quarter) {
+                    worst = (first + last) >>> 1;
+                }
+                keep[worst] = true;
+                stack[top++] = first;
+                stack[top++] = worst;
+                stack[top++] = worst;
+                stack[top++] = last;
+            }
+        }
+
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (keep[i]) {
+                xs[kept] = xs[i];
+                ys[kept] = ys[i];
+                kept++;
+            }
+        }
+        return new ArrayTabulatedFunction(xs, ys, kept);
+    }
+
+    private static final class AdaptiveTabulation {
+        private static final int MAX_DEPTH = 30;
+        private static final double PROBE_LEFT = 0.2113248654051871;
+        private static final double PROBE_RIGHT = 0.7886751345948129;
+
+        private final DoubleUnaryOperator function;
+        private final double absoluteError;
+        private final double relativeError;
+        private final int maxPoints;
+        private double[] xs = new double[64];
+        private double[] ys = new double[64];
+        private int count;
+        // Количество точек результата, если больше ни один отрезок не делить:
+        // добавленные точки и по одной на каждый ожидающий отрезок
+        private int planned = 2;
+
+        AdaptiveTabulation(DoubleUnaryOperator function, double absoluteError, double relativeError, int maxPoints) {
+            this.function = function;
+            this.absoluteError = absoluteError;
+            this.relativeError = relativeError;
+            this.maxPoints = maxPoints;
+        }
+
+        void add(double x, double y) {
+            if (count == xs.length) {
+                double[] newXs = new double[count * 2];
+                double[] newYs = new double[count * 2];
+                System.arraycopy(xs, 0, newXs, 0, count);
+                System.arraycopy(ys, 0, newYs, 0, count);
+                xs = newXs;
+                ys = newYs;
+            }
+            xs[count] = x;
+            ys[count] = y;
+            count++;
+        }
+
+        // Добавляет точки отрезка (a, b]; значение в середине уже вычислено
+        void refine(double a, double fa, double b, double fb, double fm, int depth) {
+            double m = (a + b) / 2;
+            if (depth >= MAX_DEPTH || !(m > a && m < b) || planned >= maxPoints || accurate(a, fa, b, fb, m, fm)) {
+                add(b, fb);
+                return;
+            }
+            planned++;
+            refine(a, fa, m, fm, function.applyAsDouble((a + m) / 2), depth + 1);
+            refine(m, fm, b, fb, function.applyAsDouble((m + b) / 2), depth + 1);
+        }
+
+        private boolean accurate(double a, double fa, double b, double fb, double m, double fm) {
+            if (!withinError(fa, fb, 0.5, fm)) return false;
+            double p = a + (b - a) * PROBE_LEFT;
+            double q = a + (b - a) * PROBE_RIGHT;
+            return withinError(fa, fb, (p - a) / (b - a), function.applyAsDouble(p)) &&
+                    withinError(fa, fb, (q - a) / (b - a), function.applyAsDouble(q));
+        }
+
+        // Сравнение значения функции с хордой в точке на доле t отрезка
+        private boolean withinError(double fa, double fb, double t, double value) {
+            if (!Double.isFinite(fa) || !Double.isFinite(fb) || !Double.isFinite(value)) {
+                return true;
+            }
+            double chord = fa + (fb - fa) * t;
+            return Math.abs(value - chord) <= absoluteError + relativeError * Math.abs(value);
+        }
+    }
+
+    // Вспомогательные методы работы с буфером
+    private static void flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Гарантирует наличие в буфере не менее bytes непрочитанных байт
+    private static void fill(ByteBuffer buffer, ReadableByteChannel channel, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Неожиданный конец потока");
+            }
+        }
+        buffer.flip();
+    }
+
+    // Чтение count чисел. Если наличие данных не проверено (sized = false),
+    // массив начинается с одного буфера и удваивается по мере чтения
+    private static double[] readDoubles(ByteBuffer buffer, ReadableByteChannel channel, int count, boolean sized)
+            throws IOException {
+
+        double[] target = new double[sized ? count : Math.min(count, BUFFER_BYTES / DOUBLE_BYTES)];
+        int i = 0;
+        while (i < count) {
+            fill(buffer, channel, DOUBLE_BYTES);
+            if (i == target.length) {
+                double[] grown = new double[(int) Math.min(2L * target.length, count)];
+                System.arraycopy(target, 0, grown, 0, i);
+                target = grown;
+            }
+            while (i < target.length && buffer.remaining() >= DOUBLE_BYTES) {
+                target[i++] = buffer.getDouble();
+            }
+        }
+        return target;
+    }
+}
@@ -0,0 +1,74 @@
+package functions;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleUnaryOperator;
+
+// Параллельное табулирование функции: диапазон номеров точек делится пополам,
+// пока участок не станет не длиннее порога, участки вычисляются в ForkJoinPool
+final class Tabulation {
+
+    // Порог по умолчанию: участок такой длины вычисляется последовательно
+    static final int DEFAULT_THRESHOLD = 4096;
+
+    private Tabulation() {
+    }
+
+    static void checkGrid(double leftX, double rightX, int pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не менее 2");
+        }
+    }
+
+    static void checkThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Порог последовательного вычисления должен быть положительным");
+        }
+    }
+
+    // Выполнение задачи в общем пуле; короткая задача выполняется в текущем потоке
+    static void run(RecursiveAction task, int pointsCount, int threshold) {
+        if (pointsCount <= threshold) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    // Запись ys[i] = function(xs[i]) для номеров [from, to)
+    static final class FillTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final DoubleUnaryOperator function;
+        private final double[] xs;
+        private final double[] ys;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        FillTask(DoubleUnaryOperator function, double[] xs, double[] ys, int from, int to, int threshold) {
+            this.function = function;
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    ys[i] = function.applyAsDouble(xs[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FillTask(function, xs, ys, from, middle, threshold),
+                    new FillTask(function, xs, ys, middle, to, threshold));
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package functions;
+
+public class UniformTabulatedFunction implements TabulatedFunction {
+    // Функция на равномерной сетке: X точки номер i равен leftX + i * step и не хранится,
+    // отрезок для x вычисляется за O(1). Изменение, нарушающее равномерность сетки,
+    // переводит функцию на общую реализацию delegate, дальше все методы делегируются ей
+    private double leftX;
+    private double step;
+    private double[] ys;
+    private int pointsCount;
+
+    // Общая реализация после нарушения равномерности, null - сетка равномерная
+    private ArrayTabulatedFunction delegate;
+
+    // Конструкторы
+    public UniformTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не менее 2");
+        }
+
+        this.leftX = leftX;
+        this.step = (rightX - leftX) / (pointsCount - 1);
+        this.ys = new double[pointsCount];
+        this.pointsCount = pointsCount;
+    }
+
+    public UniformTabulatedFunction(double leftX, double rightX, double[] values) {
+        this(leftX, rightX, values.length);
+        System.arraycopy(values, 0, ys, 0, values.length);
+    }
+
+    // true, пока функция хранится как равномерная сетка
+    public boolean isUniform() {
+        return delegate == null;
+    }
+
+    // Шаг сетки, NaN - сетка неравномерная
+    double gridStep() {
+        return (delegate != null) ? delegate.gridStep() : step;
+    }
+
+    // Независимая копия функции в виде ArrayTabulatedFunction
+    public ArrayTabulatedFunction toArrayTabulatedFunction() {
+        if (delegate != null) {
+            return new ArrayTabulatedFunction(delegate);
+        }
+
+        double[] xs = new double[pointsCount + 10];
+        double[] values = new double[pointsCount + 10];
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = x(i);
+        }
+        System.arraycopy(ys, 0, values, 0, pointsCount);
+        return new ArrayTabulatedFunction(xs, values, pointsCount);
+    }
+
+    // Переход на общую реализацию, сетка и массив Y больше не используются
+    private void promote() {
+        delegate = toArrayTabulatedFunction();
+        ys = null;
+    }
+
+    private double x(int index) {
+        return leftX + index * step;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
+            );
+        }
+    }
+
+    // Номер последней точки с X <= x (-1, если таких нет)
+    private int floorIndex(double x) {
+        if (x < leftX) return -1;
+        int i = (int) Math.min((x - leftX) / step, pointsCount - 1);
+        // Поправка на ошибки округления
+        while (i > 0 && x < x(i)) i--;
+        while (i < pointsCount - 1 && x >= x(i + 1)) i++;
+        return i;
+    }
+
+    // Реализация методов интерфейса
+    @Override
+    public double getLeftDomainBorder() {
+        return (delegate != null) ? delegate.getLeftDomainBorder() : leftX;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return (delegate != null) ? delegate.getRightDomainBorder() : x(pointsCount - 1);
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (delegate != null) {
+            return delegate.getFunctionValue(x);
+        }
+        if (x < leftX || x > x(pointsCount - 1)) {
+            return Double.NaN;
+        }
+
+        int i = Math.min(floorIndex(x), pointsCount - 2);
+        double leftX = x(i);
+        double rightX = x(i + 1);
+
+        // Сравнение с машинным эпсилоном
+        final double eps = 1e-10;
+        if (Math.abs(leftX - x) <= eps) return ys[i];
+        if (Math.abs(rightX - x) <= eps) return ys[i + 1];
+
+        // Линейная интерполяция
+        return ys[i] + (ys[i + 1] - ys[i]) * (x - leftX) / (rightX - leftX);
+    }
+
+    // Вычислитель: пока сетка равномерная, отрезок находится за O(1) и запоминать нечего.
+    // После перевода на общую реализацию вычисления передаются вычислителю delegate,
+    // который запоминает отрезок. delegate после перевода не меняется
+    private class UniformEvaluator implements Evaluator {
+        private Evaluator promoted;
+
+        @Override
+        public double evaluate(double x) {
+            if (delegate == null) {
+                return getFunctionValue(x);
+            }
+            if (promoted == null) {
+                promoted = delegate.evaluator();
+            }
+            return promoted.evaluate(x);
+        }
+    }
+
+    @Override
+    public Evaluator evaluator() {
+        return (delegate != null) ? delegate.evaluator() : new UniformEvaluator();
+    }
+
+    @Override
+    public int getPointsCount() {
+        return (delegate != null) ? delegate.getPointsCount() : pointsCount;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        if (delegate != null) {
+            return delegate.getPoint(index);
+        }
+        checkIndex(index);
+        return new FunctionPoint(x(index), ys[index]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        setPointX(index, point.getX());
+        setPointY(index, point.getY());
+    }
+
+    @Override
+    public double getPointX(int index) {
+        if (delegate != null) {
+            return delegate.getPointX(index);
+        }
+        checkIndex(index);
+        return x(index);
+    }
+
+    // Прежний X сохраняет сетку, другой допустимый X переводит функцию на общую реализацию
+    @Override
+    public void setPointX(int index, double x)
+            throws InappropriateFunctionPointException {
+
+        if (delegate != null) {
+            delegate.setPointX(index, x);
+            return;
+        }
+
+        checkIndex(index);
+        if ((index > 0 && x <= x(index - 1)) ||
+                (index < pointsCount - 1 && x >= x(index + 1))) {
+            throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
+        }
+        if (x != x(index)) {
+            promote();
+            delegate.setPointX(index, x);
+        }
+    }
+
+    @Override
+    public double getPointY(int index) {
+        if (delegate != null) {
+            return delegate.getPointY(index);
+        }
+        checkIndex(index);
+        return ys[index];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        if (delegate != null) {
+            delegate.setPointY(index, y);
+            return;
+        }
+        checkIndex(index);
+        ys[index] = y;
+    }
+
+    // Удаление последней точки сохраняет сетку, удаление других точек ее нарушает
+    @Override
+    public void deletePoint(int index) {
+        if (delegate != null) {
+            delegate.deletePoint(index);
+            return;
+        }
+
+        if (pointsCount < 3) {
+            throw new IllegalStateException("Нельзя удалить точку: останется меньше 2 точек");
+        }
+        checkIndex(index);
+
+        if (index == pointsCount - 1) {
+            pointsCount--;
+        } else {
+            promote();
+            delegate.deletePoint(index);
+        }
+    }
+
+    // Точка в следующем узле сетки дописывается в конец, остальные точки нарушают сетку
+    @Override
+    public void addPoint(FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        if (delegate != null) {
+            delegate.addPoint(point);
+            return;
+        }
+
+        double x = point.getX();
+        int i = floorIndex(x);
+        if ((i >= 0 && Math.abs(x(i) - x) < 1e-10) ||
+                (i + 1 < pointsCount && Math.abs(x(i + 1) - x) < 1e-10)) {
+            throw new InappropriateFunctionPointException("Точка с таким X уже существует");
+        }
+
+        if (x == x(pointsCount)) {
+            if (pointsCount == ys.length) {
+                double[] newYs = new double[ys.length * 2];
+                System.arraycopy(ys, 0, newYs, 0, pointsCount);
+                ys = newYs;
+            }
+            ys[pointsCount++] = point.getY();
+        } else {
+            promote();
+            delegate.addPoint(point);
+        }
+    }
+
+    @Override
+    public void forEachPoint(PointVisitor visitor) {
+        if (delegate != null) {
+            delegate.forEachPoint(visitor);
+            return;
+        }
+        for (int i = 0; i < pointsCount; i++) {
+            visitor.visit(i, x(i), ys[i]);
+        }
+    }
+
+    // Для теста
+    public void printPoints() {
+        if (delegate != null) {
+            delegate.printPoints();
+            return;
+        }
+        System.out.println("Равномерная сетка (всего " + pointsCount + "):");
+        for (int i = 0; i < pointsCount; i++) {
+            System.out.printf("[%d]: [%.2f; %.2f]\n", i, x(i), ys[i]);
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package functions;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+public class UnrolledLinkedListTabulatedFunction implements TabulatedFunction {
+
+    // Вместимость блока. При создании функции блоки заполняются не полностью,
+    // чтобы первые вставки не приводили к разделению блоков
+    private static final int CHUNK_CAPACITY = 64;
+    private static final int INITIAL_FILL = CHUNK_CAPACITY * 3 / 4;
+    // Блок, в котором осталось меньше точек, объединяется с соседним
+    private static final int MERGE_THRESHOLD = CHUNK_CAPACITY / 4;
+
+    // Блок точек списка: координаты хранятся в массивах примитивов по возрастанию X,
+    // наименьший и наибольший X блока - xs[0] и xs[count - 1]
+    private static final class Chunk {
+        final double[] xs = new double[CHUNK_CAPACITY];
+        final double[] ys = new double[CHUNK_CAPACITY];
+        int count;
+        Chunk prev;
+        Chunk next;
+    }
+
+    // Общая часть разделителей: точки с номерами [index, end), начиная с точки offset блока chunk.
+    // Разбиение проходит по блокам до середины диапазона
+    private abstract static class ChunkRange {
+        Chunk chunk;
+        int offset;
+        int index;
+        final int end;
+
+        ChunkRange(Chunk chunk, int offset, int index, int end) {
+            this.chunk = chunk;
+            this.offset = offset;
+            this.index = index;
+            this.end = end;
+        }
+
+        // Переход к следующей точке, если текущий блок пройден
+        void normalize() {
+            while (offset == chunk.count) {
+                chunk = chunk.next;
+                offset = 0;
+            }
+        }
+
+        // Переход ко второй половине диапазона, возвращает номер ее начала или -1
+        int split() {
+            int middle = (index + end) >>> 1;
+            if (middle <= index) return -1;
+            int remaining = middle - index;
+            while (offset + remaining >= chunk.count) {
+                remaining -= chunk.count - offset;
+                chunk = chunk.next;
+                offset = 0;
+            }
+            offset += remaining;
+            index = middle;
+            return middle;
+        }
+
+        public long estimateSize() {
+            return end - index;
+        }
+    }
+
+    private static final class ChunkPointSpliterator extends ChunkRange implements Spliterator<FunctionPoint> {
+
+        ChunkPointSpliterator(Chunk chunk, int offset, int index, int end) {
+            super(chunk, offset, index, end);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super FunctionPoint> action) {
+            if (index >= end) return false;
+            normalize();
+            action.accept(new FunctionPoint(chunk.xs[offset], chunk.ys[offset]));
+            offset++;
+            index++;
+            return true;
+        }
+
+        @Override
+        public Spliterator<FunctionPoint> trySplit() {
+            Chunk startChunk = chunk;
+            int startOffset = offset;
+            int start = index;
+            int middle = split();
+            return (middle < 0) ? null : new ChunkPointSpliterator(startChunk, startOffset, start, middle);
+        }
+
+        @Override
+        public int characteristics() {
+            return IndexPointSpliterators.POINT_CHARACTERISTICS;
+        }
+    }
+
+    private static final class ChunkValueSpliterator extends ChunkRange implements Spliterator.OfDouble {
+        private final boolean x;
+
+        ChunkValueSpliterator(Chunk chunk, int offset, int index, int end, boolean x) {
+            super(chunk, offset, index, end);
+            this.x = x;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= end) return false;
+            normalize();
+            action.accept(x ? chunk.xs[offset] : chunk.ys[offset]);
+            offset++;
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            while (index < end) {
+                normalize();
+                double[] values = x ? chunk.xs : chunk.ys;
+                int stop = Math.min(chunk.count, offset + end - index);
+                for (int i = offset; i < stop; i++) {
+                    action.accept(values[i]);
+                }
+                index += stop - offset;
+                offset = stop;
+            }
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            Chunk startChunk = chunk;
+            int startOffset = offset;
+            int start = index;
+            int middle = split();
+            return (middle < 0) ? null : new ChunkValueSpliterator(startChunk, startOffset, start, middle, x);
+        }
+
+        @Override
+        public int characteristics() {
+            return x ? IndexPointSpliterators.X_CHARACTERISTICS : IndexPointSpliterators.Y_CHARACTERISTICS;
+        }
+
+        @Override
+        public Comparator<? super Double> getComparator() {
+            if (x) return null;
+            throw new IllegalStateException();
+        }
+    }
+
+    private Chunk first;
+    private Chunk last;
+    private int pointsCount;
+
+    // Последний найденный по номеру блок и номер его первой точки
+    private Chunk cachedChunk;
+    private int cachedStart;
+
+    // Конструкторы
+    public UnrolledLinkedListTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не менее 2");
+        }
+
+        double step = (rightX - leftX) / (pointsCount - 1);
+        Chunk chunk = null;
+        for (int i = 0; i < pointsCount; i++) {
+            if (chunk == null || chunk.count == INITIAL_FILL) {
+                chunk = new Chunk();
+                linkAfter(last, chunk);
+            }
+            chunk.xs[chunk.count++] = leftX + i * step;
+        }
+        this.pointsCount = pointsCount;
+        resetCache();
+    }
+
+    public UnrolledLinkedListTabulatedFunction(double leftX, double rightX, double[] values) {
+        this(leftX, rightX, values.length);
+
+        // Устанавливаем значения Y
+        int i = 0;
+        for (Chunk chunk = first; chunk != null; chunk = chunk.next) {
+            System.arraycopy(values, i, chunk.ys, 0, chunk.count);
+            i += chunk.count;
+        }
+    }
+
+    // Методы работы с блоками
+    private void linkAfter(Chunk chunk, Chunk newChunk) {
+        newChunk.prev = chunk;
+        newChunk.next = (chunk == null) ? first : chunk.next;
+        if (newChunk.next == null) {
+            last = newChunk;
+        } else {
+            newChunk.next.prev = newChunk;
+        }
+        if (chunk == null) {
+            first = newChunk;
+        } else {
+            chunk.next = newChunk;
+        }
+    }
+
+    private void unlink(Chunk chunk) {
+        if (chunk.prev == null) {
+            first = chunk.next;
+        } else {
+            chunk.prev.next = chunk.next;
+        }
+        if (chunk.next == null) {
+            last = chunk.prev;
+        } else {
+            chunk.next.prev = chunk.prev;
+        }
+    }
+
+    // Перенос верхней половины заполненного блока в новый блок после него
+    private Chunk splitChunk(Chunk chunk) {
+        Chunk right = new Chunk();
+        int half = chunk.count / 2;
+        right.count = chunk.count - half;
+        System.arraycopy(chunk.xs, half, right.xs, 0, right.count);
+        System.arraycopy(chunk.ys, half, right.ys, 0, right.count);
+        chunk.count = half;
+        linkAfter(chunk, right);
+        return right;
+    }
+
+    // Объединение малозаполненного блока с соседним, если точки помещаются в один блок
+    private void mergeWithNeighbour(Chunk chunk) {
+        if (chunk.next != null && chunk.count + chunk.next.count <= CHUNK_CAPACITY) {
+            moveAll(chunk.next, chunk);
+        } else if (chunk.prev != null && chunk.prev.count + chunk.count <= CHUNK_CAPACITY) {
+            moveAll(chunk, chunk.prev);
+        }
+    }
+
+    // Перенос всех точек блока source в конец соседнего слева блока target
+    private void moveAll(Chunk source, Chunk target) {
+        System.arraycopy(source.xs, 0, target.xs, target.count, source.count);
+        System.arraycopy(source.ys, 0, target.ys, target.count, source.count);
+        target.count += source.count;
+        unlink(source);
+    }
+
+    private void resetCache() {
+        cachedChunk = first;
+        cachedStart = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException(
+                    "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
+            );
+        }
+    }
+
+    // Поиск блока с точкой номер index, результат - cachedChunk и cachedStart.
+    // Обход начинается от ближайшего из первого, последнего и запомненного блоков
+    private void locate(int index) {
+        checkIndex(index);
+
+        Chunk chunk = cachedChunk;
+        int start = cachedStart;
+        if (index < start) {
+            if (index < start - index) {
+                chunk = first;
+                start = 0;
+            }
+        } else if (pointsCount - index < index - start) {
+            chunk = last;
+            start = pointsCount - last.count;
+        }
+
+        while (index < start) {
+            chunk = chunk.prev;
+            start -= chunk.count;
+        }
+        while (index >= start + chunk.count) {
+            start += chunk.count;
+            chunk = chunk.next;
+        }
+        cachedChunk = chunk;
+        cachedStart = start;
+    }
+
+    // Первый блок, наибольший X которого не меньше x (последний блок, если таких нет).
+    // Блоки пропускаются целиком по наибольшему X
+    private Chunk findChunk(double x) {
+        Chunk chunk = (cachedChunk.xs[0] <= x) ? cachedChunk : first;
+        while (chunk.next != null && chunk.xs[chunk.count - 1] < x) {
+            chunk = chunk.next;
+        }
+        return chunk;
+    }
+
+    // Номер первой точки блока с X >= x (count, если таких нет)
+    private static int lowerBound(Chunk chunk, double x) {
+        int low = 0;
+        int high = chunk.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (chunk.xs[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // X соседних точек (бесконечность, если соседа нет)
+    private static double previousX(Chunk chunk, int offset) {
+        if (offset > 0) return chunk.xs[offset - 1];
+        Chunk prev = chunk.prev;
+        return (prev == null) ? Double.NEGATIVE_INFINITY : prev.xs[prev.count - 1];
+    }
+
+    private static double nextX(Chunk chunk, int offset) {
+        if (offset < chunk.count - 1) return chunk.xs[offset + 1];
+        Chunk next = chunk.next;
+        return (next == null) ? Double.POSITIVE_INFINITY : next.xs[0];
+    }
+
+    // X точки должен лежать строго между X соседних точек
+    private static void checkOrder(Chunk chunk, int offset, double x)
+            throws InappropriateFunctionPointException {
+
+        if (x <= previousX(chunk, offset) || x >= nextX(chunk, offset)) {
+            throw new InappropriateFunctionPointException("Нарушение порядка точек по X");
+        }
+    }
+
+    // Реализация методов интерфейса
+    @Override
+    public double getLeftDomainBorder() {
+        return first.xs[0];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return last.xs[last.count - 1];
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        // Правая точка отрезка - первая точка с X >= x, левая - предыдущая
+        Chunk chunk = findChunk(x);
+        int i = lowerBound(chunk, x);
+        double rightX = chunk.xs[i];
+        double rightY = chunk.ys[i];
+        if (i == 0 && chunk.prev == null) {
+            return rightY;
+        }
+
+        double leftX;
+        double leftY;
+        if (i > 0) {
+            leftX = chunk.xs[i - 1];
+            leftY = chunk.ys[i - 1];
+        } else {
+            Chunk prev = chunk.prev;
+            leftX = prev.xs[prev.count - 1];
+            leftY = prev.ys[prev.count - 1];
+        }
+
+        // Сравнение с машинным эпсилоном
+        final double eps = 1e-10;
+        if (Math.abs(leftX - x) <= eps) return leftY;
+        if (Math.abs(rightX - x) <= eps) return rightY;
+
+        // Линейная интерполяция
+        return leftY + (rightY - leftY) * (x - leftX) / (rightX - leftX);
+    }
+
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        locate(index);
+        int offset = index - cachedStart;
+        return new FunctionPoint(cachedChunk.xs[offset], cachedChunk.ys[offset]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        locate(index);
+        int offset = index - cachedStart;
+        checkOrder(cachedChunk, offset, point.getX());
+        cachedChunk.xs[offset] = point.getX();
+        cachedChunk.ys[offset] = point.getY();
+    }
+
+    @Override
+    public double getPointX(int index) {
+        locate(index);
+        return cachedChunk.xs[index - cachedStart];
+    }
+
+    @Override
+    public void setPointX(int index, double x)
+            throws InappropriateFunctionPointException {
+
+        locate(index);
+        int offset = index - cachedStart;
+        checkOrder(cachedChunk, offset, x);
+        cachedChunk.xs[offset] = x;
+    }
+
+    @Override
+    public double getPointY(int index) {
+        locate(index);
+        return cachedChunk.ys[index - cachedStart];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        locate(index);
+        cachedChunk.ys[index - cachedStart] = y;
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        if (pointsCount < 3) {
+            throw new IllegalStateException("Нельзя удалить точку: останется меньше 2 точек");
+        }
+
+        locate(index);
+        Chunk chunk = cachedChunk;
+        int offset = index - cachedStart;
+        System.arraycopy(chunk.xs, offset + 1, chunk.xs, offset, chunk.count - offset - 1);
+        System.arraycopy(chunk.ys, offset + 1, chunk.ys, offset, chunk.count - offset - 1);
+        chunk.count--;
+        pointsCount--;
+
+        // Запомненный блок остается действительным, если блоки не изменились
+        if (chunk.count == 0) {
+            unlink(chunk);
+            resetCache();
+        } else if (chunk.count < MERGE_THRESHOLD) {
+            mergeWithNeighbour(chunk);
+            resetCache();
+        }
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point)
+            throws InappropriateFunctionPointException {
+
+        double x = point.getX();
+        Chunk chunk = findChunk(x);
+        int i = lowerBound(chunk, x);
+
+        // Проверяем существование точки с таким X среди соседей по позиции
+        if ((i < chunk.count && Math.abs(chunk.xs[i] - x) < 1e-10) ||
+                Math.abs(previousX(chunk, i) - x) < 1e-10) {
+            throw new InappropriateFunctionPointException("Точка с таким X уже существует");
+        }
+
+        if (chunk.count == CHUNK_CAPACITY) {
+            Chunk right = splitChunk(chunk);
+            if (i > chunk.count) {
+                i -= chunk.count;
+                chunk = right;
+            }
+        }
+
+        System.arraycopy(chunk.xs, i, chunk.xs, i + 1, chunk.count - i);
+        System.arraycopy(chunk.ys, i, chunk.ys, i + 1, chunk.count - i);
+        chunk.xs[i] = x;
+        chunk.ys[i] = point.getY();
+        chunk.count++;
+        pointsCount++;
+        resetCache();
+    }
+
+    @Override
+    public void forEachPoint(PointVisitor visitor) {
+        int index = 0;
+        for (Chunk chunk = first; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                visitor.visit(index++, chunk.xs[i], chunk.ys[i]);
+            }
+        }
+    }
+
+    // Разделители проходят по блокам и не используют запомненный блок,
+    // поэтому части обхода можно обрабатывать в разных потоках
+    @Override
+    public Spliterator<FunctionPoint> spliterator() {
+        return new ChunkPointSpliterator(first, 0, 0, pointsCount);
+    }
+
+    @Override
+    public Spliterator.OfDouble xSpliterator() {
+        return new ChunkValueSpliterator(first, 0, 0, pointsCount, true);
+    }
+
+    @Override
+    public Spliterator.OfDouble ySpliterator() {
+        return new ChunkValueSpliterator(first, 0, 0, pointsCount, false);
+    }
+
+    // Для теста
+    public void printPoints() {
+        System.out.println("Развернутый список (всего " + pointsCount + "):");
+        int index = 0;
+        for (Chunk chunk = first; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                System.out.printf("[%d]: [%.2f; %.2f]\n", index++, chunk.xs[i], chunk.ys[i]);
+            }
+        }
+    }
+}